@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.asset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads a set of the bundled assets from an {@link AssetPack} and, for comparison, from a jar on the classpath
+ * the way {@link Assets#getAsset(String)} falls back to it. Every byte of every asset is read, as a decoder would.
+ * <p>
+ * The cold variants open the pack or a new class loader for the jar on every operation, the warm ones reuse a
+ * pack or class loader opened once. Both run from the operating system's file cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetPackBenchmark {
+
+    private static final String ASSETS_DIR = "assets/";
+
+    private static final String[] BUNDLED_ASSETS = {
+            "d2d2-core-demo-tileset.png",
+            "d2d2-picture-test.png",
+            "d2d2-loading.png",
+            "d2d2-former-logo.png",
+            "bitmapfonts/open-sans/OpenSans-12-Regular.png",
+            "bitmapfonts/open-sans/OpenSans-12-Regular.bmf",
+            "bitmapfonts/open-sans/OpenSans-16-Regular.png",
+            "bitmapfonts/open-sans/OpenSans-16-Regular.bmf",
+            "bitmapfonts/open-sans/OpenSans-20-Regular.png",
+            "bitmapfonts/open-sans/OpenSans-20-Regular.bmf",
+            "bitmapfonts/fira-code/FiraCode-12-Regular.png",
+            "bitmapfonts/fira-code/FiraCode-12-Regular.bmf",
+            "bitmapfonts/fira-code/FiraCode-16-Regular.png",
+            "bitmapfonts/fira-code/FiraCode-16-Regular.bmf",
+            "bitmapfonts/fira-code/FiraCode-20-Bold.png",
+            "bitmapfonts/fira-code/FiraCode-20-Bold.bmf"
+    };
+
+    /**
+     * Whether the pack deflates the entries that are not compressed already, the font metrics here
+     */
+    @Param({"false", "true"})
+    public boolean compress;
+
+    private Path directory;
+    private Path packFile;
+    private URL jarUrl;
+
+    private AssetPack warmPack;
+    private URLClassLoader warmClassLoader;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("d2d2-asset-benchmark");
+        Path assets = directory.resolve("assets");
+        Path jarFile = directory.resolve("assets.jar");
+
+        ClassLoader classLoader = AssetPackBenchmark.class.getClassLoader();
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(jarFile))) {
+            for (String assetPath : BUNDLED_ASSETS) {
+                byte[] bytes;
+                try (InputStream inputStream = classLoader.getResourceAsStream(ASSETS_DIR + assetPath)) {
+                    if (inputStream == null) throw new IOException("Missing bundled asset " + assetPath);
+                    bytes = inputStream.readAllBytes();
+                }
+
+                Path file = assets.resolve(assetPath);
+                Files.createDirectories(file.getParent());
+                Files.write(file, bytes);
+
+                jar.putNextEntry(new JarEntry(ASSETS_DIR + assetPath));
+                jar.write(bytes);
+                jar.closeEntry();
+            }
+        }
+
+        packFile = directory.resolve("assets.pack");
+        AssetPack.pack(assets, packFile, compress);
+        jarUrl = jarFile.toUri().toURL();
+
+        warmPack = AssetPack.open(packFile);
+        warmClassLoader = new URLClassLoader(new URL[]{jarUrl}, null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        warmClassLoader.close();
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long packCold() {
+        return readAll(AssetPack.open(packFile));
+    }
+
+    @Benchmark
+    public long packWarm() {
+        return readAll(warmPack);
+    }
+
+    @Benchmark
+    public long jarCold() throws IOException {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jarUrl}, null)) {
+            return readAll(classLoader);
+        }
+    }
+
+    @Benchmark
+    public long jarWarm() throws IOException {
+        return readAll(warmClassLoader);
+    }
+
+    private static long readAll(AssetPack pack) {
+        long checksum = 0;
+        for (String assetPath : BUNDLED_ASSETS) {
+            ByteBuffer buffer = pack.getBuffer(assetPath);
+            for (int i = buffer.position(); i < buffer.limit(); i++) {
+                checksum += buffer.get(i);
+            }
+        }
+        return checksum;
+    }
+
+    private static long readAll(ClassLoader classLoader) throws IOException {
+        long checksum = 0;
+        for (String assetPath : BUNDLED_ASSETS) {
+            try (InputStream inputStream = classLoader.getResourceAsStream(ASSETS_DIR + assetPath)) {
+                for (byte b : inputStream.readAllBytes()) {
+                    checksum += b;
+                }
+            }
+        }
+        return checksum;
+    }
+}
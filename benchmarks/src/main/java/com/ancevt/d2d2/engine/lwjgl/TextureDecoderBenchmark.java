@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a batch of the bundled PNG assets into RGBA buffers on the calling thread versus on the
+ * {@link TextureDecoder} worker pool, including the hand-off through {@link TextureDecoder#drainCompleted}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextureDecoderBenchmark {
+
+    private static final String[] BUNDLED_IMAGES = {
+            "assets/d2d2-core-demo-tileset.png",
+            "assets/d2d2-picture-test.png",
+            "assets/d2d2-loading.png",
+            "assets/bitmapfonts/open-sans/OpenSans-12-Regular.png",
+            "assets/bitmapfonts/open-sans/OpenSans-16-Regular.png",
+            "assets/bitmapfonts/open-sans/OpenSans-20-Regular.png",
+            "assets/bitmapfonts/open-sans/OpenSans-28-Regular.png",
+            "assets/bitmapfonts/fira-code/FiraCode-12-Regular.png",
+            "assets/bitmapfonts/fira-code/FiraCode-16-Regular.png",
+            "assets/bitmapfonts/fira-code/FiraCode-20-Bold.png",
+            "assets/bitmapfonts/fira-code/FiraCode-28-Bold.png"
+    };
+
+    /**
+     * How many times the set of bundled images is repeated in one batch
+     */
+    @Param({"4"})
+    public int copies;
+
+    @Param({"2", "4", "8"})
+    public int threads;
+
+    private final List<byte[]> images = new ArrayList<>();
+    private ByteBufferPool bufferPool;
+    private TextureDecoder decoder;
+    private int decoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ClassLoader classLoader = TextureDecoderBenchmark.class.getClassLoader();
+        for (int i = 0; i < copies; i++) {
+            for (String path : BUNDLED_IMAGES) {
+                try (InputStream inputStream = classLoader.getResourceAsStream(path)) {
+                    if (inputStream == null) throw new IOException("Missing bundled asset " + path);
+                    images.add(inputStream.readAllBytes());
+                }
+            }
+        }
+
+        bufferPool = new ByteBufferPool(256L * 1024 * 1024);
+        decoder = new TextureDecoder(bufferPool, threads, TextureDecoder.DEFAULT_QUEUE_CAPACITY);
+
+        // Fail here rather than waiting forever for a batch with a broken image
+        for (byte[] image : images) {
+            bufferPool.release(decoder.decode(() -> new ByteArrayInputStream(image)).buffer);
+        }
+    }
+
+    @Benchmark
+    public int singleThreaded() throws Exception {
+        int pixels = 0;
+        for (byte[] image : images) {
+            TextureDecoder.DecodeTask task = decoder.decode(() -> new ByteArrayInputStream(image));
+            pixels += task.width * task.height;
+            bufferPool.release(task.buffer);
+        }
+        return pixels;
+    }
+
+    @Benchmark
+    public int parallel() {
+        for (byte[] image : images) {
+            decoder.submit(() -> new ByteArrayInputStream(image));
+        }
+
+        decoded = 0;
+        while (decoded < images.size()) {
+            decoder.drainCompleted(task -> {
+                bufferPool.release(task.buffer);
+                decoded++;
+            });
+            Thread.onSpinWait();
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.event.core;
+
+import com.ancevt.d2d2.event.SceneEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch cost of the per-node frame events the renderer sends every frame. Listeners are registered both for
+ * the exact event type and for {@link SceneEvent}, so the type hierarchy is resolved on every dispatch. Run with
+ * {@code -prof gc} to see that the steady state allocates nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatcherBenchmark {
+
+    @Param({"1", "4"})
+    public int listenersPerType;
+
+    private EventDispatcherImpl dispatcher;
+    private EventDispatcherImpl emptyDispatcher;
+
+    private SceneEvent.Tick tick;
+    private SceneEvent.PreFrame preFrame;
+    private SceneEvent.PostFrame postFrame;
+
+    private int received;
+
+    @Setup
+    public void setUp() {
+        dispatcher = new EventDispatcherImpl();
+        for (int i = 0; i < listenersPerType; i++) {
+            dispatcher.addEventListener(SceneEvent.Tick.class, this::consume);
+            dispatcher.addEventListener(SceneEvent.PreFrame.class, this::consume);
+            dispatcher.addEventListener(SceneEvent.class, this::consume);
+            dispatcher.addEventListener(SceneEvent.Add.class, this::consume);
+        }
+        emptyDispatcher = new EventDispatcherImpl();
+
+        tick = SceneEvent.Tick.create();
+        preFrame = SceneEvent.PreFrame.create();
+        postFrame = SceneEvent.PostFrame.create();
+    }
+
+    private void consume(Event event) {
+        received++;
+    }
+
+    /**
+     * Tick, PreFrame and PostFrame, as sent to one node per frame
+     */
+    @Benchmark
+    public int dispatchFrameEvents() {
+        dispatcher.dispatchEvent(tick);
+        dispatcher.dispatchEvent(preFrame);
+        dispatcher.dispatchEvent(postFrame);
+        return received;
+    }
+
+    @Benchmark
+    public int dispatchWithoutListeners() {
+        emptyDispatcher.dispatchEvent(tick);
+        emptyDispatcher.dispatchEvent(preFrame);
+        emptyDispatcher.dispatchEvent(postFrame);
+        return received;
+    }
+
+    @Benchmark
+    public boolean hasEventListeners() {
+        return dispatcher.hasEventListeners(SceneEvent.PostFrame.class);
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.text;
+
+import com.ancevt.d2d2.scene.texture.Texture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word widths for word wrapping of multi-kilobyte paragraphs, measured with the metrics of a bundled font. The
+ * pass is linear, so the time per character should not grow with the text length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlyphLayoutBenchmark {
+
+    private static final String FONT = "assets/bitmapfonts/open-sans/OpenSans-16-Regular.bmf";
+
+    private static final String[] WORDS = {
+            "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "texture", "atlas", "glyph", "layout",
+            "render", "frame", "node", "sprite", "batch", "width", "wrap", "x2", "d2d2", "_id", "(note)", "1024px"
+    };
+
+    @Param({"1024", "4096", "16384"})
+    public int length;
+
+    private BitmapFont bitmapFont;
+    private String text;
+
+    @Setup
+    public void setUp() throws IOException {
+        GlyphTable glyphs = new GlyphTable();
+        try (InputStream inputStream = GlyphLayoutBenchmark.class.getClassLoader().getResourceAsStream(FONT)) {
+            if (inputStream == null) throw new IOException("Missing bundled font " + FONT);
+            BitmapFontManager.readCharsData(inputStream).forEach(glyphs::put);
+        }
+        bitmapFont = new BitmapFont("OpenSans-16-Regular", new Texture(0, 1, 1), glyphs);
+
+        // Sentences of words with punctuation and an occasional paragraph break
+        Random random = new Random(1);
+        StringBuilder stringBuilder = new StringBuilder(length + 16);
+        while (stringBuilder.length() < length) {
+            stringBuilder.append(WORDS[random.nextInt(WORDS.length)]);
+            int separator = random.nextInt(20);
+            if (separator == 0) {
+                stringBuilder.append(".\n");
+            } else if (separator < 3) {
+                stringBuilder.append(", ");
+            } else {
+                stringBuilder.append(' ');
+            }
+        }
+        stringBuilder.setLength(length);
+        text = stringBuilder.toString();
+    }
+
+    @Benchmark
+    public float[] computeNextWordWidths() {
+        return GlyphLayout.computeNextWordWidths(text, 0, bitmapFont, 1f);
+    }
+}
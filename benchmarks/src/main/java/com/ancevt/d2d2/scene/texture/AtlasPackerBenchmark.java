@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.texture;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packing speed and efficiency of {@link AtlasPacker}. Besides the time, every benchmark reports the page
+ * occupancy it reached as an auxiliary counter:
+ * <ul>
+ *     <li>{@code fillPage} - rectangles are inserted into an empty page until the first one does not fit</li>
+ *     <li>{@code churn} - a full page where one random rectangle is freed and a new one inserted per operation,
+ *     as with images loaded and unloaded at runtime; {@code failures} counts the inserts that found no room</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtlasPackerBenchmark {
+
+    private static final int SIZES = 16384;
+
+    @State(Scope.Thread)
+    public static class Input {
+
+        @Param({"1024", "2048"})
+        public int pageSize;
+
+        /**
+         * {@code icons}: squarish 16 to 64 pixels; {@code mixed}: 8 to 256 pixels with any aspect ratio
+         */
+        @Param({"icons", "mixed"})
+        public String sizes;
+
+        final int[] widths = new int[SIZES];
+        final int[] heights = new int[SIZES];
+
+        AtlasPacker page;
+        final List<AtlasPacker.Rect> placed = new ArrayList<>();
+        final Random random = new Random(42);
+        int next;
+
+        @Setup
+        public void setUp() {
+            Random sizeRandom = new Random(7);
+            for (int i = 0; i < SIZES; i++) {
+                if (sizes.equals("icons")) {
+                    int side = 16 + sizeRandom.nextInt(49);
+                    widths[i] = side;
+                    heights[i] = Math.max(8, side + sizeRandom.nextInt(9) - 4);
+                } else {
+                    widths[i] = 8 + sizeRandom.nextInt(249);
+                    heights[i] = 8 + sizeRandom.nextInt(249);
+                }
+            }
+        }
+
+        /**
+         * Fills a page for {@code churn} until the first insert fails.
+         */
+        @Setup(Level.Iteration)
+        public void fillPage() {
+            page = new AtlasPacker(pageSize, pageSize);
+            placed.clear();
+            next = 0;
+            while (true) {
+                AtlasPacker.Rect rect = page.insert(widths[next], heights[next]);
+                next = (next + 1) % SIZES;
+                if (rect == null) break;
+                placed.add(rect);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Efficiency {
+
+        private double occupancySum;
+        private long samples;
+
+        public long failures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            occupancySum = 0;
+            samples = 0;
+            failures = 0;
+        }
+
+        void sample(AtlasPacker page) {
+            occupancySum += page.getOccupancy();
+            samples++;
+        }
+
+        /**
+         * Mean occupancy over the iteration, in percent
+         */
+        public double occupancy() {
+            return samples == 0 ? 0 : occupancySum / samples * 100;
+        }
+    }
+
+    @Benchmark
+    public AtlasPacker fillPage(Input input, Efficiency efficiency) {
+        AtlasPacker page = new AtlasPacker(input.pageSize, input.pageSize);
+        for (int i = 0; i < SIZES; i++) {
+            if (page.insert(input.widths[i], input.heights[i]) == null) break;
+        }
+        efficiency.sample(page);
+        return page;
+    }
+
+    @Benchmark
+    public AtlasPacker.Rect churn(Input input, Efficiency efficiency) {
+        List<AtlasPacker.Rect> placed = input.placed;
+        if (!placed.isEmpty()) {
+            int index = input.random.nextInt(placed.size());
+            input.page.free(placed.get(index));
+            placed.set(index, placed.get(placed.size() - 1));
+            placed.remove(placed.size() - 1);
+        }
+
+        AtlasPacker.Rect rect = input.page.insert(input.widths[input.next], input.heights[input.next]);
+        input.next = (input.next + 1) % SIZES;
+        if (rect == null) {
+            efficiency.failures++;
+        } else {
+            placed.add(rect);
+        }
+        efficiency.sample(input.page);
+        return rect;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import com.ancevt.d2d2.lifecycle.D2D2PropertyConstants;
+import com.ancevt.d2d2.scene.text.CompiledBitmapFont;
+import com.ancevt.d2d2.scene.text.TrueTypeFontBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static com.ancevt.d2d2.D2D2.log;
+
+/**
+ * Disk cache of bitmap fonts generated from TrueType fonts, stored as {@link CompiledBitmapFont} files. Entries are
+ * named by a SHA-256 hash of the font file and every builder setting that affects the result, so a changed font or
+ * setting never hits a stale entry. Entries are written to a temporary file and moved into place, so a process
+ * never reads a partly written entry.
+ * <p>
+ * The directory is set by {@code d2d2.bitmapfont.cache}, {@code off} disabling the cache; by default it is
+ * {@code d2d2-bitmapfont-cache} in the temporary directory.
+ */
+final class BitmapFontCache {
+
+    private static final String DISABLED = "off";
+    private static final String DEFAULT_DIRECTORY = "d2d2-bitmapfont-cache";
+    private static final String EXTENSION = ".d2bf";
+
+    // Bump when the way fonts are rendered changes, to leave old entries behind
+    private static final int GENERATOR_VERSION = 1;
+
+    private final Path directory;
+
+    private BitmapFontCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the cache configured by the system properties, or null if it is disabled
+     */
+    static BitmapFontCache fromProperties() {
+        String property = System.getProperty(D2D2PropertyConstants.D2D2_BITMAPFONT_CACHE);
+        if (DISABLED.equals(property)) return null;
+
+        return new BitmapFontCache(property != null
+                ? Path.of(property)
+                : Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_DIRECTORY));
+    }
+
+    Path entry(byte[] fontData, TrueTypeFontBuilder builder) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(fontData);
+            digest.update(settings(builder).getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest.digest()) + EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the cached font, or null if there is no usable entry
+     */
+    CompiledBitmapFont load(Path entry) {
+        try {
+            return CompiledBitmapFont.map(entry);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error(BitmapFontCache.class, "Ignoring unreadable bitmap font cache entry " + entry, e);
+            return null;
+        }
+    }
+
+    void store(Path entry, CompiledBitmapFont font) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, "font", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+                font.write(outputStream, false);
+            }
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error(BitmapFontCache.class, "Unable to write bitmap font cache entry " + entry, e);
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // Left for the next cleanup of the temporary directory
+                }
+            }
+        }
+    }
+
+    private static String settings(TrueTypeFontBuilder builder) {
+        return String.join("\n",
+                "version " + GENERATOR_VERSION,
+                "size " + builder.getFontSize(),
+                "bold " + builder.isBold(),
+                "italic " + builder.isItalic(),
+                "antialias " + builder.isTextAntialiasOn(),
+                "gasp " + builder.isTextAntialiasGasp(),
+                "lcd " + builder.isTextAntialiasLcdHrgb() + " " + builder.isTextAntialiasLcdHbgr() + " "
+                        + builder.isTextAntialiasLcdVrgb() + " " + builder.isTextAntialiasLcdVbgr(),
+                "fractionalMetrics " + builder.fractionalMetrics(),
+                "spacing " + builder.getSpacingX() + " " + builder.getSpacingY(),
+                "offset " + builder.getOffsetX() + " " + builder.getOffsetY(),
+                "chars " + builder.getCharSourceString()
+        );
+    }
+}
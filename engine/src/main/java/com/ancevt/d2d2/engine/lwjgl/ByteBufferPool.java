@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import org.lwjgl.BufferUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe pool of direct buffers for decoded pixel data. Buffers are kept in power-of-two size classes and
+ * only up to a total number of retained bytes, so a burst of large textures does not pin memory for good.
+ */
+class ByteBufferPool {
+
+    private static final int MIN_SIZE_CLASS = 12;
+    private static final int MAX_SIZE_CLASS = 30;
+
+    // Indexed by size class minus MIN_SIZE_CLASS; filled once and only read afterwards
+    private final List<Queue<ByteBuffer>> buckets = new ArrayList<>(MAX_SIZE_CLASS - MIN_SIZE_CLASS + 1);
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final long maxRetainedBytes;
+
+    ByteBufferPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+        for (int i = MIN_SIZE_CLASS; i <= MAX_SIZE_CLASS; i++) {
+            buckets.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * @return direct buffer with position 0 and limit {@code size}; its capacity may be larger
+     */
+    ByteBuffer acquire(int size) {
+        int sizeClass = Math.max(MIN_SIZE_CLASS, 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1));
+        if (sizeClass > MAX_SIZE_CLASS) {
+            return BufferUtils.createByteBuffer(size);
+        }
+
+        ByteBuffer buffer = buckets.get(sizeClass - MIN_SIZE_CLASS).poll();
+        if (buffer == null) {
+            buffer = BufferUtils.createByteBuffer(1 << sizeClass);
+        } else {
+            retainedBytes.addAndGet(-buffer.capacity());
+        }
+        buffer.clear().limit(size);
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer nobody reads any more. Heap buffers and buffers over the budget are left to the GC.
+     */
+    void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) return;
+
+        int sizeClass = 31 - Integer.numberOfLeadingZeros(buffer.capacity());
+        if (sizeClass < MIN_SIZE_CLASS || sizeClass > MAX_SIZE_CLASS) return;
+
+        if (retainedBytes.addAndGet(buffer.capacity()) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-buffer.capacity());
+            return;
+        }
+        buckets.get(sizeClass - MIN_SIZE_CLASS).add(buffer);
+    }
+}
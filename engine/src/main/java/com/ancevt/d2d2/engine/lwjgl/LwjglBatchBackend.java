@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+/**
+ * Draws a {@link RenderCommandList} through {@link SpriteBatch} and a single streaming VBO, issuing a draw call
+ * only when the texture changes.
+ */
+class LwjglBatchBackend implements RenderBackend {
+
+    private final LwjglTextureEngine textureEngine;
+    private final SpriteBatch spriteBatch;
+
+    private float lineWidth = 1f;
+    private int stippleFactor = 1;
+    private short stipple;
+
+    LwjglBatchBackend(LwjglTextureEngine textureEngine) {
+        this.textureEngine = textureEngine;
+        spriteBatch = new SpriteBatch(new LwjglVertexBuffer(SpriteBatch.DEFAULT_MAX_VERTICES));
+    }
+
+    @Override
+    public void execute(RenderCommandList commands) {
+        spriteBatch.resetFlushCount();
+
+        float[] vertices = commands.vertices();
+        boolean skip = false;
+        boolean premultiplied = false;
+
+        for (int i = 0; i < commands.getCommandCount(); i++) {
+            switch (commands.opcode(i)) {
+                case RenderCommandList.TEXTURE -> {
+                    int textureId = commands.arg0(i);
+                    int glTextureId = textureId == RenderCommandList.NO_TEXTURE
+                            ? SpriteBatch.NO_TEXTURE
+                            : textureEngine.getGlTextureId(textureId);
+
+                    // Texture is not uploaded yet, so its geometry is skipped like a failed bind
+                    skip = textureId != RenderCommandList.NO_TEXTURE && glTextureId == SpriteBatch.NO_TEXTURE;
+                    if (!skip) spriteBatch.setTexture(glTextureId);
+                }
+                case RenderCommandList.BLEND -> {
+                    spriteBatch.flush();
+                    premultiplied = commands.arg0(i) == RenderCommandList.BLEND_PREMULTIPLIED;
+                    LwjglBlending.apply(commands.arg0(i));
+                }
+                case RenderCommandList.LINE_STYLE -> {
+                    lineWidth = Float.intBitsToFloat(commands.arg0(i));
+                    stippleFactor = commands.arg1(i);
+                    stipple = (short) commands.arg2(i);
+                }
+                case RenderCommandList.QUADS, RenderCommandList.GLYPH_RUN -> {
+                    if (skip) continue;
+                    int first = commands.arg0(i);
+                    int count = commands.arg1(i);
+                    for (int q = 0; q < count; q++) {
+                        spriteBatch.quad(vertices, first + q * 4);
+                    }
+                }
+                case RenderCommandList.TRIANGLES -> {
+                    if (skip) continue;
+                    int first = commands.arg0(i);
+                    int count = commands.arg1(i);
+                    for (int t = 0; t < count; t++) {
+                        spriteBatch.triangle(vertices, first + t * 3);
+                    }
+                }
+                case RenderCommandList.LINE_STRIP -> {
+                    spriteBatch.flush();
+                    LwjglShapeRenderer.drawLineStrip(
+                            vertices, commands.arg0(i), commands.arg1(i), lineWidth, stippleFactor, stipple
+                    );
+                }
+            }
+        }
+
+        spriteBatch.flush();
+        if (premultiplied) LwjglBlending.straightAlpha();
+    }
+
+    int getFlushCount() {
+        return spriteBatch.getFlushCount();
+    }
+}
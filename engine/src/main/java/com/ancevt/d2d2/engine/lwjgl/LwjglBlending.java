@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import static org.lwjgl.opengl.GL11.GL_ONE;
+import static org.lwjgl.opengl.GL11.GL_ONE_MINUS_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11.GL_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11.glBlendFunc;
+import static org.lwjgl.opengl.GL14.glBlendFuncSeparate;
+
+/**
+ * Blend functions shared by the backends and render targets. Draw calls only enable {@code GL_BLEND} and rely
+ * on the function set here, so the same commands can be drawn both on screen and into a texture cache.
+ */
+final class LwjglBlending {
+
+    private LwjglBlending() {
+    }
+
+    /**
+     * Blending of straight-alpha sources. Alpha accumulates as {@code src + dst * (1 - src)}, so a transparent
+     * render target ends up holding premultiplied colors with the correct coverage.
+     */
+    static void straightAlpha() {
+        glBlendFuncSeparate(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA, GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    /**
+     * Blending of premultiplied sources such as texture caches.
+     */
+    static void premultipliedAlpha() {
+        glBlendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    static void apply(int blend) {
+        if (blend == RenderCommandList.BLEND_PREMULTIPLIED) {
+            premultipliedAlpha();
+        } else {
+            straightAlpha();
+        }
+    }
+}
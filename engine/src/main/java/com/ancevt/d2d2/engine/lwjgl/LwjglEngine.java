@@ -31,7 +31,9 @@ import com.ancevt.d2d2.log.Log;
 import com.ancevt.d2d2.scene.Renderer;
 import com.ancevt.d2d2.scene.Root;
 import com.ancevt.d2d2.scene.interactive.InteractiveManager;
+import com.ancevt.d2d2.scene.text.BitmapCharInfo;
 import com.ancevt.d2d2.scene.text.BitmapFont;
+import com.ancevt.d2d2.scene.text.CompiledBitmapFont;
 import com.ancevt.d2d2.scene.text.FractionalMetrics;
 import com.ancevt.d2d2.scene.text.TrueTypeFontBuilder;
 import com.ancevt.d2d2.time.Timer;
@@ -47,7 +49,6 @@ import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.image.BufferedImage;
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -589,12 +590,26 @@ public class LwjglEngine extends EventDispatcherImpl implements Engine {
     @Override
     public BitmapFont generateBitmapFont(TrueTypeFontBuilder builder) {
 
-        final GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        byte[] fontData;
+        try (InputStream inputStream = builder.getInputStream() != null ?
+                builder.getInputStream() : new FileInputStream(builder.getFilePath().toFile())) {
+            fontData = inputStream.readAllBytes();
+        }
+
+        // A font generated before from the same file and settings is loaded as it is, unless BMF files are wanted
+        boolean saveBmf = System.getProperty(D2D2PropertyConstants.D2D2_BITMAPFONT_SAVEBMF) != null;
+        BitmapFontCache cache = BitmapFontCache.fromProperties();
+        Path cacheEntry = cache != null ? cache.entry(fontData, builder) : null;
+        if (cacheEntry != null && !saveBmf) {
+            CompiledBitmapFont cached = cache.load(cacheEntry);
+            if (cached != null) {
+                return D2D2.bitmapFontManager().loadBitmapFont(cached, builder.getName());
+            }
+        }
 
-        InputStream inputStream = builder.getInputStream() != null ?
-                builder.getInputStream() : new FileInputStream(builder.getFilePath().toFile());
+        final GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
 
-        java.awt.Font font = java.awt.Font.createFont(java.awt.Font.TRUETYPE_FONT, inputStream);
+        java.awt.Font font = java.awt.Font.createFont(java.awt.Font.TRUETYPE_FONT, new ByteArrayInputStream(fontData));
         String fontName = font.getName();
         ge.registerFont(font);
 
@@ -694,13 +709,11 @@ public class LwjglEngine extends EventDispatcherImpl implements Engine {
                         .append('\n')
         );
 
-        byte[] charsDataBytes = stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        if (saveBmf) {
+            ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
+            ImageIO.write(bufferedImage, "png", pngOutputStream);
+            byte[] pngDataBytes = pngOutputStream.toByteArray();
 
-        ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
-        ImageIO.write(bufferedImage, "png", pngOutputStream);
-        byte[] pngDataBytes = pngOutputStream.toByteArray();
-
-        if (System.getProperty(D2D2PropertyConstants.D2D2_BITMAPFONT_SAVEBMF) != null) {
             String assetPath = builder.getAssetPath();
             Path ttfPath = builder.getFilePath();
 
@@ -718,11 +731,29 @@ public class LwjglEngine extends EventDispatcherImpl implements Engine {
             log.info(getClass(), "BMF written %s/%s".formatted(destinationPath, fileName));
         }
 
-        return D2D2.bitmapFontManager().loadBitmapFont(
-                new ByteArrayInputStream(charsDataBytes),
-                new ByteArrayInputStream(pngDataBytes),
-                builder.getName()
+        // Same glyphs as reading the BMF text back, without encoding and decoding the PNG
+        List<BitmapCharInfo> glyphs = new ArrayList<>(charInfos.size());
+        for (CharInfo charInfo : charInfos) {
+            if (charInfo.character == '\b') continue;
+            glyphs.add(new BitmapCharInfo(
+                    charInfo.character,
+                    charInfo.x,
+                    charInfo.y,
+                    charInfo.width + builder.getSpacingX(),
+                    charInfo.height + builder.getSpacingY()
+            ));
+        }
+        CompiledBitmapFont compiledFont = CompiledBitmapFont.create(
+                textureWidth,
+                textureHeight,
+                bufferedImage.getRGB(0, 0, textureWidth, textureHeight, null, 0, textureWidth),
+                glyphs
         );
+        if (cacheEntry != null) {
+            cache.store(cacheEntry, compiledFont);
+        }
+
+        return D2D2.bitmapFontManager().loadBitmapFont(compiledFont, builder.getName());
     }
 
     private static class CharInfo {
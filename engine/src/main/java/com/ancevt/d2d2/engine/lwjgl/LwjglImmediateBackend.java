@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import static org.lwjgl.opengl.GL11.GL_BLEND;
+import static org.lwjgl.opengl.GL11.GL_QUADS;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.glBegin;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glColor4f;
+import static org.lwjgl.opengl.GL11.glDisable;
+import static org.lwjgl.opengl.GL11.glEnable;
+import static org.lwjgl.opengl.GL11.glEnd;
+import static org.lwjgl.opengl.GL11.glTexCoord2f;
+import static org.lwjgl.opengl.GL11.glVertex2f;
+
+/**
+ * Draws a {@link RenderCommandList} with immediate-mode {@code glBegin}/{@code glEnd} calls, one per command.
+ */
+class LwjglImmediateBackend implements RenderBackend {
+
+    private static final int F = RenderCommandList.FLOATS_PER_VERTEX;
+
+    private final LwjglTextureEngine textureEngine;
+
+    private float lineWidth = 1f;
+    private int stippleFactor = 1;
+    private short stipple;
+
+    LwjglImmediateBackend(LwjglTextureEngine textureEngine) {
+        this.textureEngine = textureEngine;
+    }
+
+    @Override
+    public void execute(RenderCommandList commands) {
+        float[] vertices = commands.vertices();
+        boolean skip = false;
+        boolean textured = false;
+        boolean premultiplied = false;
+
+        glEnable(GL_BLEND);
+        LwjglBlending.straightAlpha();
+
+        for (int i = 0; i < commands.getCommandCount(); i++) {
+            switch (commands.opcode(i)) {
+                case RenderCommandList.TEXTURE -> {
+                    int textureId = commands.arg0(i);
+                    if (textureId == RenderCommandList.NO_TEXTURE) {
+                        glDisable(GL_TEXTURE_2D);
+                        textured = false;
+                        skip = false;
+                    } else {
+                        int glTextureId = textureEngine.getGlTextureId(textureId);
+                        skip = glTextureId == SpriteBatch.NO_TEXTURE;
+                        if (!skip) {
+                            glEnable(GL_TEXTURE_2D);
+                            glBindTexture(GL_TEXTURE_2D, glTextureId);
+                            textured = true;
+                        }
+                    }
+                }
+                case RenderCommandList.BLEND -> {
+                    premultiplied = commands.arg0(i) == RenderCommandList.BLEND_PREMULTIPLIED;
+                    LwjglBlending.apply(commands.arg0(i));
+                }
+                case RenderCommandList.LINE_STYLE -> {
+                    lineWidth = Float.intBitsToFloat(commands.arg0(i));
+                    stippleFactor = commands.arg1(i);
+                    stipple = (short) commands.arg2(i);
+                }
+                case RenderCommandList.QUADS, RenderCommandList.GLYPH_RUN -> {
+                    if (!skip) drawVertices(GL_QUADS, vertices, commands.arg0(i), commands.arg1(i) * 4);
+                }
+                case RenderCommandList.TRIANGLES -> {
+                    if (!skip) drawVertices(GL_TRIANGLES, vertices, commands.arg0(i), commands.arg1(i) * 3);
+                }
+                case RenderCommandList.LINE_STRIP -> {
+                    LwjglShapeRenderer.drawLineStrip(
+                            vertices, commands.arg0(i), commands.arg1(i), lineWidth, stippleFactor, stipple
+                    );
+                    if (textured) glEnable(GL_TEXTURE_2D);
+                    glEnable(GL_BLEND);
+                }
+            }
+        }
+
+        if (premultiplied) LwjglBlending.straightAlpha();
+        glDisable(GL_BLEND);
+        glDisable(GL_TEXTURE_2D);
+    }
+
+    private static void drawVertices(int mode, float[] vertices, int first, int count) {
+        glBegin(mode);
+        for (int v = first; v < first + count; v++) {
+            int i = v * F;
+            glColor4f(vertices[i + 4], vertices[i + 5], vertices[i + 6], vertices[i + 7]);
+            glTexCoord2f(vertices[i + 2], vertices[i + 3]);
+            glVertex2f(vertices[i], vertices[i + 1]);
+        }
+        glEnd();
+    }
+}
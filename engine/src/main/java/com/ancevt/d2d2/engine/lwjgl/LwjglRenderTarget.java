@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import lombok.Getter;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.util.glu.GLU;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL30.*;
+
+/**
+ * Framebuffer with a texture color attachment, used to render texture caches of groups. The texture is registered
+ * in the {@link LwjglTextureEngine} under a regular texture id, so commands can draw it like any other texture.
+ */
+class LwjglRenderTarget {
+
+    @Getter
+    private final int textureId;
+    @Getter
+    private final int width;
+    @Getter
+    private final int height;
+
+    private final int glTextureId;
+    private final int framebufferId;
+
+    LwjglRenderTarget(LwjglTextureEngine textureEngine, int textureId, int width, int height) {
+        this.textureId = textureId;
+        this.width = width;
+        this.height = height;
+
+        glTextureId = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, glTextureId);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+
+        framebufferId = glGenFramebuffers();
+        glBindFramebuffer(GL_FRAMEBUFFER, framebufferId);
+        glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, glTextureId, 0);
+        int status = glCheckFramebufferStatus(GL_FRAMEBUFFER);
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+
+        if (status != GL_FRAMEBUFFER_COMPLETE) {
+            glDeleteFramebuffers(framebufferId);
+            glDeleteTextures(glTextureId);
+            throw new IllegalStateException("Incomplete framebuffer, status: 0x" + Integer.toHexString(status));
+        }
+
+        textureEngine.registerGlTexture(textureId, glTextureId);
+    }
+
+    /**
+     * Redirects drawing into the target and clears it to transparent. Vertices are expected in target pixels
+     * with the origin in the top left corner, which ends up at texture coordinate (0, 0).
+     * <p>
+     * Straight-alpha drawing accumulates alpha separately, so the texture ends up premultiplied and has to be
+     * drawn with {@link RenderCommandList#BLEND_PREMULTIPLIED}.
+     */
+    void begin() {
+        glBindFramebuffer(GL_FRAMEBUFFER, framebufferId);
+        glPushAttrib(GL_VIEWPORT_BIT | GL_COLOR_BUFFER_BIT);
+        glViewport(0, 0, width, height);
+        LwjglBlending.straightAlpha();
+
+        glMatrixMode(GL11.GL_PROJECTION);
+        glPushMatrix();
+        glLoadIdentity();
+        GLU.gluOrtho2D(0, width, 0, height);
+        glMatrixMode(GL11.GL_MODELVIEW);
+        glPushMatrix();
+        glLoadIdentity();
+
+        glClearColor(0f, 0f, 0f, 0f);
+        glClear(GL_COLOR_BUFFER_BIT);
+    }
+
+    /**
+     * Restores the framebuffer, viewport, blend state and matrices saved by {@link #begin()}.
+     */
+    void end() {
+        glMatrixMode(GL11.GL_PROJECTION);
+        glPopMatrix();
+        glMatrixMode(GL11.GL_MODELVIEW);
+        glPopMatrix();
+
+        glPopAttrib();
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+    }
+
+    /**
+     * Deletes the framebuffer but keeps the texture, which stays registered and becomes owned by the caller.
+     */
+    void releaseFramebuffer() {
+        glDeleteFramebuffers(framebufferId);
+    }
+
+    void dispose(LwjglTextureEngine textureEngine) {
+        textureEngine.unregisterGlTexture(textureId);
+        glDeleteFramebuffers(framebufferId);
+        glDeleteTextures(glTextureId);
+    }
+}
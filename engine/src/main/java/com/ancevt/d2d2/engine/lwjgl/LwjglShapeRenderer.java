@@ -2,13 +2,13 @@
  * Copyright (C) 2025 the original author or authors.
  * See the notice.md file distributed with this work for additional
  * information regarding copyright ownership.
- *
+ * <p>
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
- *
+ * <p>
  * http://www.apache.org/licenses/LICENSE-2.0
- *
+ * <p>
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
@@ -24,10 +24,14 @@ import com.ancevt.d2d2.scene.shape.RectangleShape;
 import com.ancevt.d2d2.scene.shape.Shape;
 import com.ancevt.d2d2.scene.shape.Triangle;
 import com.ancevt.d2d2.scene.shape.Vertex;
+import org.joml.Matrix3x2fc;
 import org.lwjgl.opengl.GL11;
 
+import static org.lwjgl.opengl.GL11.GL_BLEND;
 import static org.lwjgl.opengl.GL11.GL_LINE_STIPPLE;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
 import static org.lwjgl.opengl.GL11.glBegin;
+import static org.lwjgl.opengl.GL11.glColor4f;
 import static org.lwjgl.opengl.GL11.glDisable;
 import static org.lwjgl.opengl.GL11.glEnable;
 import static org.lwjgl.opengl.GL11.glEnd;
@@ -37,79 +41,96 @@ import static org.lwjgl.opengl.GL11.glVertex2f;
 
 class LwjglShapeRenderer {
 
-
-    public static void drawShape(Shape shape, float alpha) {
+    /**
+     * Records the shape as untextured geometry: rectangles as quads, free shapes as triangles and line
+     * batches as line strips.
+     */
+    public static void emitShape(Shape shape, RenderCommandList commands, Matrix3x2fc matrix) {
         if (shape instanceof RectangleShape s) {
-            drawRectangleShape(s);
+            emitRectangleShape(s, commands, matrix);
         } else if (shape instanceof FreeShape s) {
-            drawFreeShape(s);
+            emitFreeShape(s, commands, matrix);
         } else if (shape instanceof LineBatch s) {
-            drawLineBatch(s);
+            emitLineBatch(s, commands, matrix);
         }
     }
 
-    private static void drawLineBatch(LineBatch s) {
+    /**
+     * Draws {@code count} world-space vertices starting at {@code first} as a single line strip.
+     */
+    public static void drawLineStrip(float[] vertices,
+                                     int first,
+                                     int count,
+                                     float lineWidth,
+                                     int stippleFactor,
+                                     short stipple) {
+
+        glDisable(GL_TEXTURE_2D);
+        glEnable(GL_BLEND);
 
-        glLineWidth(s.getLineWidth());
+        glLineWidth(lineWidth);
 
-        if (s.getStipple() != 0) {
+        if (stipple != 0) {
             glEnable(GL_LINE_STIPPLE);
-            glLineStipple(s.getStippleFactor(), s.getStipple());
+            glLineStipple(stippleFactor, stipple);
         }
 
         glBegin(GL11.GL_LINE_STRIP);
 
-        for (LineBatch.Line line : s.getLines()) {
-            Vertex a = line.getVertexA();
-            Vertex b = line.getVertexB();
-
-            glVertex2f(a.x, a.y);
-            glVertex2f(b.x, b.y);
-
-            if (line.isClosing()) {
-                glEnd();
-                glBegin(GL11.GL_LINE_STRIP);
-            }
-
+        for (int v = first; v < first + count; v++) {
+            int i = v * RenderCommandList.FLOATS_PER_VERTEX;
+            glColor4f(vertices[i + 4], vertices[i + 5], vertices[i + 6], vertices[i + 7]);
+            glVertex2f(vertices[i], vertices[i + 1]);
         }
 
-
         glEnd();
 
         glDisable(GL_LINE_STIPPLE);
+        glDisable(GL_BLEND);
     }
 
-    private static void drawFreeShape(FreeShape s) {
-
-        for (Triangle triangle : s.getTriangles()) {
-
-            glBegin(GL11.GL_TRIANGLES);
+    private static void emitLineBatch(LineBatch s, RenderCommandList commands, Matrix3x2fc matrix) {
+        commands.setTexture(RenderCommandList.NO_TEXTURE);
+        commands.setLineStyle(s.getLineWidth(), s.getStippleFactor(), s.getStipple());
+        commands.beginLineStrip();
 
-            glVertex2f(triangle.getX1(), triangle.getY1());
-            glVertex2f(triangle.getX2(), triangle.getY2());
-            glVertex2f(triangle.getX3(), triangle.getY3());
+        for (LineBatch.Line line : s.getLines()) {
+            Vertex a = line.getVertexA();
+            Vertex b = line.getVertexB();
 
-            glEnd();
+            commands.lineVertex(matrix, a.x, a.y);
+            commands.lineVertex(matrix, b.x, b.y);
 
+            if (line.isClosing()) {
+                commands.beginLineStrip();
+            }
         }
+    }
 
+    private static void emitFreeShape(FreeShape s, RenderCommandList commands, Matrix3x2fc matrix) {
+        commands.setTexture(RenderCommandList.NO_TEXTURE);
 
+        for (Triangle triangle : s.getTriangles()) {
+            commands.triangle(matrix,
+                    triangle.getX1(), triangle.getY1(),
+                    triangle.getX2(), triangle.getY2(),
+                    triangle.getX3(), triangle.getY3()
+            );
+        }
     }
 
-    private static void drawRectangleShape(RectangleShape s) {
+    private static void emitRectangleShape(RectangleShape s, RenderCommandList commands, Matrix3x2fc matrix) {
         float l = 0;
         float r = s.getWidth();
         float b = s.getHeight();
         float t = 0;
 
-
-        glBegin(GL11.GL_QUADS);
-        glVertex2f(l, b);
-        glVertex2f(r, b);
-        glVertex2f(r, t);
-        glVertex2f(l, t);
-        glEnd();
-
-        glEnd();
+        commands.setTexture(RenderCommandList.NO_TEXTURE);
+        commands.quad(matrix,
+                l, b, 0, 0,
+                r, b, 0, 0,
+                r, t, 0, 0,
+                l, t, 0, 0
+        );
     }
 }
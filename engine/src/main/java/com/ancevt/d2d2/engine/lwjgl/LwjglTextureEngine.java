@@ -21,13 +21,22 @@ package com.ancevt.d2d2.engine.lwjgl;
 import com.ancevt.d2d2.D2D2;
 import com.ancevt.d2d2.asset.Assets;
 import com.ancevt.d2d2.scene.Color;
+import com.ancevt.d2d2.scene.text.BitmapCharInfo;
+import com.ancevt.d2d2.scene.text.BitmapFont;
 import com.ancevt.d2d2.scene.text.BitmapText;
+import com.ancevt.d2d2.scene.text.GlyphLayout;
+import com.ancevt.d2d2.scene.texture.DecodedImage;
 import com.ancevt.d2d2.scene.texture.ITextureEngine;
 import com.ancevt.d2d2.scene.texture.Texture;
+import com.ancevt.d2d2.scene.texture.TextureMemoryStats;
 import com.ancevt.d2d2.scene.texture.TextureRegion;
 import com.ancevt.d2d2.scene.texture.TextureRegionCombinerCell;
+import com.ancevt.d2d2.scene.texture.TextureUploadStats;
 
+import org.joml.Matrix3x2f;
 import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
 import org.lwjgl.opengl.GL30;
 
 import javax.imageio.ImageIO;
@@ -37,49 +46,166 @@ import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.awt.image.RescaleOp;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.ancevt.d2d2.D2D2.log;
 
 import static org.lwjgl.opengl.GL11.GL_NEAREST;
+import static org.lwjgl.opengl.GL11.GL_PACK_ALIGNMENT;
 import static org.lwjgl.opengl.GL11.GL_RGBA;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_HEIGHT;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WIDTH;
 import static org.lwjgl.opengl.GL11.GL_UNPACK_ALIGNMENT;
 import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
 import static org.lwjgl.opengl.GL11.glBindTexture;
 import static org.lwjgl.opengl.GL11.glDeleteTextures;
 import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glGetTexImage;
+import static org.lwjgl.opengl.GL11.glGetTexLevelParameteri;
 import static org.lwjgl.opengl.GL11.glPixelStorei;
 import static org.lwjgl.opengl.GL11.glTexImage2D;
 import static org.lwjgl.opengl.GL11.glTexParameteri;
+import static org.lwjgl.opengl.GL11.glTexSubImage2D;
 import static org.lwjgl.opengl.GL30.glGenerateMipmap;
 
 public class LwjglTextureEngine implements ITextureEngine {
 
+    private static final long MAX_POOLED_BUFFER_BYTES = 64L * 1024 * 1024;
+
     private final TextureLoadQueue loadQueue;
     private final Queue<Texture> unloadQueue;
     private final TextureMapping mapping;
+    private final ByteBufferPool bufferPool;
+    private final TextureDecoder decoder;
+    private final TextureResidency residency;
+    private final TextureUploadScheduler uploadScheduler;
+    // Evicted textures being decoded or uploaded again, by texture id; failed reloads stay to not be retried
+    private final Map<Integer, CompletableFuture<Texture>> reloads = new HashMap<>();
+    private long bytesUploadedLastFrame;
+    private RenderBackend combinerBackend;
     private int textureIdCounter;
 
     public LwjglTextureEngine() {
         mapping = new TextureMapping();
+        bufferPool = new ByteBufferPool(MAX_POOLED_BUFFER_BYTES);
+        decoder = new TextureDecoder(bufferPool);
+        residency = new TextureResidency();
+        uploadScheduler = new TextureUploadScheduler();
         loadQueue = new TextureLoadQueue();
         unloadQueue = new LinkedList<>();
     }
 
     @Override
     public boolean bind(Texture texture) {
-        if (mapping.ids().containsKey(texture.getId())) {
-            glBindTexture(GL_TEXTURE_2D, mapping.ids().get(texture.getId()));
+        int glTextureId = getGlTextureId(texture.getId());
+        if (glTextureId != SpriteBatch.NO_TEXTURE) {
+            glBindTexture(GL_TEXTURE_2D, glTextureId);
             return true;
         }
         return false;
     }
 
+    int getGlTextureId(int textureId) {
+        int glTextureId = mapping.glId(textureId);
+        if (glTextureId == 0 && residency.isEvicted(textureId)) {
+            reload(textureId);
+        } else if (glTextureId != 0) {
+            residency.used(textureId);
+        }
+        return glTextureId == 0 ? SpriteBatch.NO_TEXTURE : glTextureId;
+    }
+
+    /**
+     * Starts uploading an evicted texture again from its source as it is about to be drawn. The image is decoded
+     * in the background and uploaded within the upload budget like a newly loaded one; until then the texture is
+     * not drawn. A texture whose source cannot be decoded stays evicted.
+     */
+    private void reload(int textureId) {
+        if (reloads.containsKey(textureId)) return;
+        Callable<InputStream> source = mapping.imageSource(textureId);
+        if (source == null) return;
+
+        CompletableFuture<Texture> future = decoder.submit(source, textureId);
+        reloads.put(textureId, future);
+        future.whenComplete((texture, throwable) -> {
+            if (throwable != null && !(throwable instanceof CancellationException)) {
+                log.error(LwjglTextureEngine.class, "Unable to reload evicted texture " + textureId, throwable);
+            }
+        });
+    }
+
+    /**
+     * Deletes textures idle for a while, least recently used first, while the resident size exceeds the budget.
+     * Only textures that can be decoded again from their source are evicted. Called once per frame.
+     */
+    void evictTextures() {
+        for (int textureId : residency.selectEvictions(id -> mapping.imageSource(id) != null)) {
+            int glTextureId = mapping.removeGlId(textureId);
+            if (glTextureId != 0) glDeleteTextures(glTextureId);
+            residency.deleted(textureId, true);
+        }
+        residency.nextFrame();
+    }
+
+    @Override
+    public void setTextureMemoryBudget(long bytes, int minIdleFrames) {
+        residency.setBudget(bytes);
+        residency.setMinIdleFrames(minIdleFrames);
+    }
+
+    @Override
+    public TextureMemoryStats getTextureMemoryStats() {
+        return residency.getStats();
+    }
+
+    @Override
+    public void setUploadBudget(long bytesPerFrame) {
+        if (bytesPerFrame <= 0) {
+            throw new IllegalArgumentException("Upload budget must be positive: " + bytesPerFrame);
+        }
+        uploadScheduler.setBytesPerFrame(bytesPerFrame);
+    }
+
+    @Override
+    public TextureUploadStats getTextureUploadStats() {
+        return new TextureUploadStats(
+                uploadScheduler.getQueueDepth(),
+                uploadScheduler.getPendingBytes(),
+                bytesUploadedLastFrame,
+                uploadScheduler.getBytesPerFrame()
+        );
+    }
+
+    int nextTextureId() {
+        return ++textureIdCounter;
+    }
+
+    /**
+     * Maps a texture id to a texture created outside of this engine, e.g. the color buffer of a render target.
+     */
+    void registerGlTexture(int textureId, int glTextureId) {
+        mapping.putGlId(textureId, glTextureId);
+    }
+
+    void unregisterGlTexture(int textureId) {
+        mapping.removeGlId(textureId);
+    }
+
     @Override
     public void enable(Texture texture) {
         GL30.glEnable(GL_TEXTURE_2D);
@@ -90,8 +216,123 @@ public class LwjglTextureEngine implements ITextureEngine {
         GL30.glDisable(GL_TEXTURE_2D);
     }
 
+    /**
+     * Renders the cells into an offscreen framebuffer through the regular command path. Falls back to AWT
+     * compositing when there is no OpenGL context with framebuffer support on the calling thread.
+     * <p>
+     * The framebuffer accumulates premultiplied colors, so the texture is marked
+     * {@link Texture#isPremultipliedAlpha() premultiplied} and drawn with premultiplied blending, which matches
+     * the AWT {@code SRC_OVER} path without reading the pixels back.
+     */
     @Override
     public Texture createTexture(int width, int height, TextureRegionCombinerCell[] cells) {
+        if (!isFramebufferSupported()) {
+            return createTextureWithAwt(width, height, cells);
+        }
+
+        // Cell textures may still wait in the load queue
+        finishUploads();
+
+        RenderCommandList commands = new RenderCommandList();
+        Matrix3x2f matrix = new Matrix3x2f();
+        for (TextureRegionCombinerCell cell : cells) {
+            emitCell(cell, commands, matrix);
+        }
+
+        Texture texture = new Texture(++textureIdCounter, width, height);
+        LwjglRenderTarget renderTarget = new LwjglRenderTarget(this, texture.getId(), width, height);
+        renderTarget.begin();
+        if (combinerBackend == null) combinerBackend = new LwjglImmediateBackend(this);
+        combinerBackend.execute(commands);
+        renderTarget.end();
+        renderTarget.releaseFramebuffer();
+        texture.setPremultipliedAlpha(true);
+
+        glBindTexture(GL_TEXTURE_2D, mapping.glId(texture.getId()));
+        glGenerateMipmap(GL_TEXTURE_2D);
+        residency.uploaded(texture.getId(), width, height);
+
+        D2D2.textureManager().addTexture(texture);
+        D2D2.textureManager().addTextureRegion("_texture_" + texture.getId(), texture.createTextureRegion());
+        return texture;
+    }
+
+    private static boolean isFramebufferSupported() {
+        try {
+            GLCapabilities capabilities = GL.getCapabilities();
+            return capabilities.OpenGL30 || capabilities.GL_ARB_framebuffer_object;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records a cell the way the AWT path draws it: rotated around its position, tinted by its color, tiles
+     * repeated and the last partial tile cropped.
+     */
+    private static void emitCell(TextureRegionCombinerCell cell, RenderCommandList commands, Matrix3x2f matrix) {
+        TextureRegion region = cell.getTextureRegion();
+        Texture texture = region.getTexture();
+        commands.setTexture(texture.getId());
+
+        // A combined texture used as a cell keeps premultiplied colors, and so does its tint
+        boolean premultiplied = texture.isPremultipliedAlpha();
+        commands.setBlend(premultiplied ? RenderCommandList.BLEND_PREMULTIPLIED : RenderCommandList.BLEND_STRAIGHT);
+        Color color = cell.getColor();
+        float alpha = cell.getAlpha();
+        float tint = premultiplied ? alpha : 1f;
+        if (color != null) {
+            commands.setColor(
+                    color.getR() / 255f * tint,
+                    color.getG() / 255f * tint,
+                    color.getB() / 255f * tint,
+                    alpha
+            );
+        } else {
+            commands.setColor(tint, tint, tint, alpha);
+        }
+
+        matrix.identity()
+                .translate(cell.getX(), cell.getY())
+                .rotate((float) Math.toRadians(cell.getRotation()));
+
+        float repeatX = cell.getRepeatX();
+        float repeatY = cell.getRepeatY();
+        float scaleX = cell.getScaleX();
+        float scaleY = cell.getScaleY();
+
+        float regionWidth = region.getWidth();
+        float regionHeight = region.getHeight();
+        float textureWidth = texture.getWidth();
+        float textureHeight = texture.getHeight();
+
+        float u0 = region.getX() / textureWidth;
+        float v0 = region.getY() / textureHeight;
+
+        for (int rY = 0; rY < repeatY; rY++) {
+            for (int rX = 0; rX < repeatX; rX++) {
+                float valX = Math.min(1f, repeatX - rX);
+                float valY = Math.min(1f, repeatY - rY);
+
+                float left = regionWidth * rX * scaleX;
+                float top = regionHeight * rY * scaleY;
+                float right = left + regionWidth * scaleX * valX;
+                float bottom = top + regionHeight * scaleY * valY;
+
+                float u1 = u0 + regionWidth * valX / textureWidth;
+                float v1 = v0 + regionHeight * valY / textureHeight;
+
+                commands.quad(matrix,
+                        left, bottom, u0, v1,
+                        right, bottom, u1, v1,
+                        right, top, u1, v0,
+                        left, top, u0, v0
+                );
+            }
+        }
+    }
+
+    private Texture createTextureWithAwt(int width, int height, TextureRegionCombinerCell[] cells) {
         final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         final Graphics2D g = (Graphics2D) image.getGraphics();
 
@@ -125,7 +366,7 @@ public class LwjglTextureEngine implements ITextureEngine {
         }
 
         final Texture texture = createTextureFromBufferedImage(image);
-        mapping.images().put(texture.getId(), image);
+        mapping.putImage(texture.getId(), image);
         D2D2.textureManager().addTextureRegion("_texture_" + texture.getId(), texture.createTextureRegion());
         return texture;
     }
@@ -218,10 +459,9 @@ public class LwjglTextureEngine implements ITextureEngine {
 
     public Texture createTexture(InputStream pngInputStream) {
         try {
-            BufferedImage bufferedImage = ImageIO.read(pngInputStream);
-            Texture texture = createTextureFromBufferedImage(bufferedImage);
-            mapping.images().put(texture.getId(), bufferedImage);
-            return texture;
+            // Compressed bytes are small; keeping them allows creating the BufferedImage later if needed
+            byte[] bytes = pngInputStream.readAllBytes();
+            return createTexture(() -> new ByteArrayInputStream(bytes));
         } catch (IOException ex) {
             throw new RuntimeException(ex);
         }
@@ -229,10 +469,15 @@ public class LwjglTextureEngine implements ITextureEngine {
 
     @Override
     public Texture createTexture(String assetPath) {
+        return createTexture(() -> Assets.getAsset(assetPath).getInputStream());
+    }
+
+    private Texture createTexture(Callable<InputStream> source) {
         try {
-            InputStream pngInputStream = Assets.getAsset(assetPath).getInputStream();
-            return createTextureFromBufferedImage(ImageIO.read(pngInputStream));
-        } catch (IOException ex) {
+            return completeDecode(decoder.decode(source));
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
     }
@@ -241,66 +486,138 @@ public class LwjglTextureEngine implements ITextureEngine {
         int width = image.getWidth();
         int height = image.getHeight();
 
-        int[] pixels = new int[image.getWidth() * image.getHeight()];
-        image.getRGB(0, 0, image.getWidth(), image.getHeight(), pixels, 0, image.getWidth());
+        ByteBuffer byteBuffer = TextureDecoder.toRgbaBuffer(image, bufferPool);
 
-        ByteBuffer byteBuffer = BufferUtils.createByteBuffer(image.getWidth() * image.getHeight() * 4); //4 for RGBA, 3 for RGB
+        Texture texture = createTextureFromByteBuffer(byteBuffer, width, height);
+        mapping.putImage(texture.getId(), image);
+        D2D2.textureManager().addTexture(texture);
+        return texture;
+    }
 
-        for (int y = 0; y < image.getHeight(); y++) {
-            for (int x = 0; x < image.getWidth(); x++) {
-                int pixel = pixels[y * image.getWidth() + x];
-                byteBuffer.put((byte) ((pixel >> 16) & 0xFF));     // Red component
-                byteBuffer.put((byte) ((pixel >> 8) & 0xFF));      // Green component
-                byteBuffer.put((byte) (pixel & 0xFF));             // Blue component
-                byteBuffer.put((byte) ((pixel >> 24) & 0xFF));     // Alpha component. Only for RGBA
-            }
+    @Override
+    public Texture createTexture(int width, int height, ByteBuffer rgbaPixels) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Texture size must be positive: " + width + "x" + height);
         }
-
-        byteBuffer.flip();
+        if (rgbaPixels.remaining() != width * height * 4) {
+            throw new IllegalArgumentException("Expected " + width * height * 4 + " bytes of RGBA pixels for "
+                    + width + "x" + height + ", got " + rgbaPixels.remaining());
+        }
+        ByteBuffer byteBuffer = bufferPool.acquire(width * height * 4);
+        byteBuffer.put(rgbaPixels.duplicate()).flip();
 
         Texture texture = createTextureFromByteBuffer(byteBuffer, width, height);
-        mapping.images().put(texture.getId(), image);
         D2D2.textureManager().addTexture(texture);
         return texture;
     }
 
+    /**
+     * Decodes the asset on a worker thread; the texture is created, registered and uploaded on the render thread
+     * in {@link #loadTextures()}, where the returned future completes.
+     */
+    @Override
+    public CompletableFuture<Texture> createTextureAsync(String assetPath) {
+        return decoder.submit(() -> Assets.getAsset(assetPath).getInputStream());
+    }
+
+    @Override
+    public CompletableFuture<Texture> createTextureAsync(String assetPath, Executor executor) {
+        return decoder.submit(() -> Assets.getAsset(assetPath).getInputStream(), executor);
+    }
+
+    private Texture completeDecode(TextureDecoder.DecodeTask task) {
+        if (task.textureId != 0) {
+            return completeReloadDecode(task);
+        }
+
+        Texture texture = createTextureFromByteBuffer(task.buffer, task.width, task.height);
+        mapping.putImageSource(texture.getId(), task.source);
+        D2D2.textureManager().addTexture(texture);
+        if (task.future != null) task.future.complete(texture);
+        return texture;
+    }
+
+    private Texture completeReloadDecode(TextureDecoder.DecodeTask task) {
+        Texture texture = D2D2.textureManager().getTextureById(task.textureId);
+        if (texture == null || !residency.isEvicted(task.textureId)) {
+            // Unloaded or uploaded otherwise meanwhile
+            bufferPool.release(task.buffer);
+            reloads.remove(task.textureId);
+            task.future.cancel(false);
+            return null;
+        }
+        uploadScheduler.add(texture, task.buffer, task.width, task.height);
+        task.future.complete(texture);
+        return texture;
+    }
+
     private Texture createTextureFromByteBuffer(ByteBuffer byteBuffer, int width, int height) {
         Texture texture = new Texture(++textureIdCounter, width, height);
         loadQueue.putLoad(new TextureLoadQueue.LoadTask(texture, width, height, byteBuffer));
         return texture;
     }
 
+    /**
+     * Uploads queued textures within the per-frame upload budget. Called once per frame.
+     */
     public void loadTextures() {
+        enqueueUploads();
+        bytesUploadedLastFrame = uploadScheduler.process(uploadScheduler.getBytesPerFrame(), this::completeUpload);
+    }
+
+    /**
+     * Uploads all queued textures regardless of the budget, for callers that need them complete right away.
+     */
+    void finishUploads() {
+        enqueueUploads();
+        bytesUploadedLastFrame += uploadScheduler.process(Long.MAX_VALUE, this::completeUpload);
+    }
+
+    private void enqueueUploads() {
+        decoder.drainCompleted(this::completeDecode);
+
         while (loadQueue.hasTasks()) {
             TextureLoadQueue.LoadTask loadTask = loadQueue.poll();
+            uploadScheduler.add(loadTask.getTexture(), loadTask.getByteBuffer(), loadTask.getWidth(), loadTask.getHeight());
+        }
+    }
 
-            Texture texture = loadTask.getTexture();
-            ByteBuffer byteBuffer = loadTask.getByteBuffer();
-            int width = loadTask.getWidth();
-            int height = loadTask.getHeight();
+    private void completeUpload(TextureUploadScheduler.Upload upload) {
+        int textureId = upload.texture.getId();
+        mapping.putGlId(textureId, upload.glTextureId);
+        bufferPool.release(upload.byteBuffer);
+        residency.uploaded(textureId, upload.width, upload.height);
+        if (reloads.remove(textureId) == null) {
+            D2D2.textureManager().textureUploaded(upload.texture);
+        }
+    }
 
-            int openGlTextureId = glGenTextures();
+    private void upload(int textureId, ByteBuffer byteBuffer, int width, int height) {
+        int openGlTextureId = glGenTextures();
 
-            mapping.ids().put(texture.getId(), openGlTextureId);
+        mapping.putGlId(textureId, openGlTextureId);
 
-            // Bind the texture
-            glBindTexture(GL_TEXTURE_2D, openGlTextureId);
+        // Bind the texture
+        glBindTexture(GL_TEXTURE_2D, openGlTextureId);
 
-            // Tell OpenGL how to unpack the RGBA bytes. Each component pngInputStream 1 byte size
-            glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        // Tell OpenGL how to unpack the RGBA bytes. Each component pngInputStream 1 byte size
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
 
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
-            // Upload the texture data
-            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, byteBuffer);
-            // Generate Mip Map
-            glGenerateMipmap(GL_TEXTURE_2D);
-        }
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        // Upload the texture data
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, byteBuffer);
+        // Generate Mip Map
+        glGenerateMipmap(GL_TEXTURE_2D);
+
+        // The driver has its own copy now
+        bufferPool.release(byteBuffer);
+        residency.uploaded(textureId, width, height);
     }
 
     @Override
     public void unloadTexture(Texture texture) {
-        mapping.images().remove(texture.getId());
+        mapping.removeImage(texture.getId());
         // TODO: repair creating new textures after unloading
         if (texture.isDisposed()) {
             return;
@@ -313,9 +630,14 @@ public class LwjglTextureEngine implements ITextureEngine {
     public void unloadTexture() {
         while (!unloadQueue.isEmpty()) {
             Texture texture = unloadQueue.poll();
-            glDeleteTextures(mapping.ids().get(texture.getId()));
-            mapping.ids().remove(texture.getId());
-            mapping.images().remove(texture.getId());
+            TextureUploadScheduler.Upload upload = uploadScheduler.cancel(texture.getId());
+            if (upload != null) bufferPool.release(upload.byteBuffer);
+            CompletableFuture<Texture> reload = reloads.remove(texture.getId());
+            if (reload != null) reload.cancel(false);
+            int glTextureId = mapping.removeGlId(texture.getId());
+            if (glTextureId != 0) glDeleteTextures(glTextureId);
+            residency.deleted(texture.getId(), false);
+            mapping.removeImage(texture.getId());
         }
     }
 
@@ -326,51 +648,47 @@ public class LwjglTextureEngine implements ITextureEngine {
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g = image.createGraphics();
 
-        BitmapTextDrawHelper.draw(
-                bitmapText,
-            bitmapText.getAlpha(),
-            bitmapText.getScaleX(),
-            bitmapText.getScaleY(),
-            (atlas, c, letter, drawX, drawY, textureAtlasWidth, textureAtlasHeight, charInfo, scX, scY, textureBleedingFix, vertexBleedingFix) -> {
-
-                if (c != '\n') {
-                    int charX = charInfo.x();
-                    int charY = charInfo.y();
+        BitmapFont bitmapFont = bitmapText.getBitmapFont();
+        Texture atlas = bitmapFont.getTexture();
+        GlyphLayout layout = bitmapText.getGlyphLayout();
 
-                    int offsetX = 0;
-                    int offsetY = 0;
+        for (int i = 0; i < layout.getGlyphCount(); i++) {
+            BitmapCharInfo charInfo = bitmapFont.getCharInfo(layout.getCodePoint(i));
 
-                    if (charX < 0) {
-                        offsetX = -charX;
-                        charX = 0;
-                    }
-                    if (charY < 0) {
-                        offsetY = -charY;
-                        charY = 0;
-                    }
+            int charX = charInfo.x();
+            int charY = charInfo.y();
 
-                    BufferedImage charImage = textureRegionToImage(
-                        atlas, charX, charY, charInfo.width(), charInfo.height()
-                    );
+            int offsetX = 0;
+            int offsetY = 0;
 
-                    charImage = copyImage(charImage);
+            if (charX < 0) {
+                offsetX = -charX;
+                charX = 0;
+            }
+            if (charY < 0) {
+                offsetY = -charY;
+                charY = 0;
+            }
 
-                    Color letterColor = letter == null ? bitmapText.getColor() : letter.getColor();
+            BufferedImage charImage = textureRegionToImage(
+                atlas, charX, charY, charInfo.width(), charInfo.height()
+            );
 
-                    applyColorFilter(
-                        charImage,
-                        letterColor.getR(),
-                        letterColor.getG(),
-                        letterColor.getB()
-                    );
+            charImage = copyImage(charImage);
 
-                    g.drawImage(charImage, (int) drawX + offsetX, (int) drawY - charInfo.height() + offsetY, null);
-                }
+            Color letterColor = layout.isMulticolor() ? Color.of(layout.getColor(i)) : bitmapText.getColor();
 
-            },
-            null
-        );
+            applyColorFilter(
+                charImage,
+                letterColor.getR(),
+                letterColor.getG(),
+                letterColor.getB()
+            );
 
+            int drawX = (int) layout.getX(i);
+            int drawY = (int) layout.getY(i);
+            g.drawImage(charImage, drawX + offsetX, drawY - charInfo.height() + offsetY, null);
+        }
 
         final Texture texture = createTextureFromBufferedImage(image);
         D2D2.textureManager().addTextureRegion("_texture_text_" + texture.getId(), texture.createTextureRegion());
@@ -403,10 +721,141 @@ public class LwjglTextureEngine implements ITextureEngine {
     }
 
     private BufferedImage textureRegionToImage(Texture texture, int x, int y, int width, int height) {
-        BufferedImage bufferedImage = mapping.images().get(texture.getId());
+        BufferedImage bufferedImage = mapping.image(texture.getId(),
+                textureId -> readBackImage(textureId, texture.isPremultipliedAlpha()));
+        if (bufferedImage == null) {
+            throw new IllegalStateException("No pixel data for texture " + texture);
+        }
         return bufferedImage.getSubimage(x, y, width, height);
     }
 
+    /**
+     * Reads the pixels of an uploaded texture back from OpenGL; used for textures without a source whose CPU copy
+     * has been dropped. Must run on the render thread.
+     */
+    private BufferedImage readBackImage(int textureId, boolean premultipliedAlpha) {
+        if (mapping.glId(textureId) == 0) {
+            // Possibly still waiting in the load queue
+            finishUploads();
+        }
+        int glTextureId = mapping.glId(textureId);
+        if (glTextureId == 0) return null;
+
+        glBindTexture(GL_TEXTURE_2D, glTextureId);
+        int width = glGetTexLevelParameteri(GL_TEXTURE_2D, 0, GL_TEXTURE_WIDTH);
+        int height = glGetTexLevelParameteri(GL_TEXTURE_2D, 0, GL_TEXTURE_HEIGHT);
+
+        ByteBuffer byteBuffer = bufferPool.acquire(width * height * 4);
+        glPixelStorei(GL_PACK_ALIGNMENT, 1);
+        glGetTexImage(GL_TEXTURE_2D, 0, GL_RGBA, GL_UNSIGNED_BYTE, byteBuffer);
+
+        int[] pixels = new int[width * height];
+        byteBuffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(pixels);
+        bufferPool.release(byteBuffer);
+
+        for (int i = 0; i < pixels.length; i++) {
+            int abgr = pixels[i];
+            pixels[i] = (abgr & 0xFF00FF00) | ((abgr >> 16) & 0xFF) | ((abgr & 0xFF) << 16);
+        }
+
+        // Premultiplied pixels go to the raster as they are; Java2D converts them where needed
+        int type = premultipliedAlpha ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage image = new BufferedImage(width, height, type);
+        image.getRaster().setDataElements(0, 0, width, height, pixels);
+        return image;
+    }
+
+    @Override
+    public Texture createEmptyTexture(int width, int height) {
+        Texture texture = new Texture(++textureIdCounter, width, height);
+        // Freshly allocated buffers are zeroed, i.e. transparent
+        upload(texture.getId(), BufferUtils.createByteBuffer(width * height * 4), width, height);
+        D2D2.textureManager().addTexture(texture);
+        return texture;
+    }
+
+    @Override
+    public DecodedImage decodeImage(String assetPath) {
+        try {
+            TextureDecoder.DecodeTask task = decoder.decode(() -> Assets.getAsset(assetPath).getInputStream());
+            return new PooledDecodedImage(task.width, task.height, task.buffer);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public void drawImage(Texture target, int x, int y, DecodedImage image) {
+        PooledDecodedImage pooledImage = (PooledDecodedImage) image;
+        writePixels(target, x, y, image.getWidth(), image.getHeight(), pooledImage.buffer);
+    }
+
+    @Override
+    public void copyTextureRegion(TextureRegion source, Texture target, int x, int y) {
+        BufferedImage image = textureRegionToImage(source);
+        ByteBuffer byteBuffer = TextureDecoder.toRgbaBuffer(image, bufferPool);
+        writePixels(target, x, y, image.getWidth(), image.getHeight(), byteBuffer);
+        bufferPool.release(byteBuffer);
+    }
+
+    private void writePixels(Texture target, int x, int y, int width, int height, ByteBuffer byteBuffer) {
+        int glTextureId = getGlTextureId(target.getId());
+        if (glTextureId == SpriteBatch.NO_TEXTURE) {
+            throw new IllegalStateException("Texture is not uploaded: " + target);
+        }
+
+        glBindTexture(GL_TEXTURE_2D, glTextureId);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        glTexSubImage2D(GL_TEXTURE_2D, 0, x, y, width, height, GL_RGBA, GL_UNSIGNED_BYTE, byteBuffer);
+        glGenerateMipmap(GL_TEXTURE_2D);
+        mapping.invalidateImage(target.getId());
+    }
+
+    private final class PooledDecodedImage implements DecodedImage {
+        private final int width;
+        private final int height;
+        private ByteBuffer buffer;
+
+        private PooledDecodedImage(int width, int height, ByteBuffer buffer) {
+            this.width = width;
+            this.height = height;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public void dispose() {
+            bufferPool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    @Override
+    public void setRetainPixels(Texture texture, boolean retainPixels) {
+        mapping.setImagePinned(texture.getId(), retainPixels);
+    }
+
+    @Override
+    public void setPixelCacheBudget(long bytes) {
+        mapping.setImageBudget(bytes);
+    }
+
+    @Override
+    public long getPixelCacheBytes() {
+        return mapping.getImageBytes();
+    }
+
     private BufferedImage textureRegionToImage(TextureRegion textureRegion) {
         return textureRegionToImage(
             textureRegion.getTexture(),
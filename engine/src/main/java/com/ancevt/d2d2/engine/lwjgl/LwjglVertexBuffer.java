@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL11.GL_BLEND;
+import static org.lwjgl.opengl.GL11.GL_COLOR_ARRAY;
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_COORD_ARRAY;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.GL_VERTEX_ARRAY;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glColorPointer;
+import static org.lwjgl.opengl.GL11.glDisable;
+import static org.lwjgl.opengl.GL11.glDisableClientState;
+import static org.lwjgl.opengl.GL11.glDrawArrays;
+import static org.lwjgl.opengl.GL11.glEnable;
+import static org.lwjgl.opengl.GL11.glEnableClientState;
+import static org.lwjgl.opengl.GL11.glTexCoordPointer;
+import static org.lwjgl.opengl.GL11.glVertexPointer;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glBufferSubData;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+
+/**
+ * Persistent streaming VBO that draws {@link SpriteBatch} contents through the fixed-function
+ * client arrays, so the existing projection set up by {@link LwjglRenderer#reshape()} still applies.
+ */
+class LwjglVertexBuffer implements SpriteBatch.Flusher {
+
+    private static final int STRIDE = SpriteBatch.FLOATS_PER_VERTEX * Float.BYTES;
+    private static final long TEX_COORD_OFFSET = 2L * Float.BYTES;
+    private static final long COLOR_OFFSET = 4L * Float.BYTES;
+
+    private final FloatBuffer buffer;
+    private final long capacityBytes;
+    private final int vboId;
+
+    LwjglVertexBuffer(int maxVertices) {
+        buffer = BufferUtils.createFloatBuffer(maxVertices * SpriteBatch.FLOATS_PER_VERTEX);
+        capacityBytes = (long) buffer.capacity() * Float.BYTES;
+
+        vboId = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vboId);
+        glBufferData(GL_ARRAY_BUFFER, capacityBytes, GL_STREAM_DRAW);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    @Override
+    public void flush(float[] vertices, int vertexCount, int textureId) {
+        buffer.clear();
+        buffer.put(vertices, 0, vertexCount * SpriteBatch.FLOATS_PER_VERTEX).flip();
+
+        glBindBuffer(GL_ARRAY_BUFFER, vboId);
+        // Orphan the previous storage so the driver does not stall on a buffer still in use
+        glBufferData(GL_ARRAY_BUFFER, capacityBytes, GL_STREAM_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 0, buffer);
+
+        if (textureId == SpriteBatch.NO_TEXTURE) {
+            glDisable(GL_TEXTURE_2D);
+        } else {
+            glEnable(GL_TEXTURE_2D);
+            glBindTexture(GL_TEXTURE_2D, textureId);
+        }
+
+        // The blend function is owned by the backend, which switches it for premultiplied geometry
+        glEnable(GL_BLEND);
+
+        glEnableClientState(GL_VERTEX_ARRAY);
+        glEnableClientState(GL_TEXTURE_COORD_ARRAY);
+        glEnableClientState(GL_COLOR_ARRAY);
+        glVertexPointer(2, GL_FLOAT, STRIDE, 0L);
+        glTexCoordPointer(2, GL_FLOAT, STRIDE, TEX_COORD_OFFSET);
+        glColorPointer(4, GL_FLOAT, STRIDE, COLOR_OFFSET);
+
+        glDrawArrays(GL_TRIANGLES, 0, vertexCount);
+
+        glDisableClientState(GL_COLOR_ARRAY);
+        glDisableClientState(GL_TEXTURE_COORD_ARRAY);
+        glDisableClientState(GL_VERTEX_ARRAY);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+        glDisable(GL_BLEND);
+        glDisable(GL_TEXTURE_2D);
+    }
+}
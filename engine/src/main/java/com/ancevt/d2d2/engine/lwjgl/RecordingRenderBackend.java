@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import lombok.Getter;
+
+/**
+ * Headless {@link RenderBackend} that only counts what it is given. Useful for tests and for measuring
+ * per-frame command counts on a machine without a GPU.
+ */
+@Getter
+public class RecordingRenderBackend implements RenderBackend {
+
+    private long frames;
+
+    private int commands;
+    private int vertices;
+    private int textureChanges;
+    private int blendChanges;
+    private int quads;
+    private int glyphs;
+    private int triangles;
+    private int lineStrips;
+
+    @Override
+    public void execute(RenderCommandList list) {
+        frames++;
+
+        commands = list.getCommandCount();
+        vertices = list.getVertexCount();
+        textureChanges = 0;
+        blendChanges = 0;
+        quads = 0;
+        glyphs = 0;
+        triangles = 0;
+        lineStrips = 0;
+
+        for (int i = 0; i < commands; i++) {
+            switch (list.opcode(i)) {
+                case RenderCommandList.TEXTURE -> textureChanges++;
+                case RenderCommandList.BLEND -> blendChanges++;
+                case RenderCommandList.QUADS -> quads += list.arg1(i);
+                case RenderCommandList.GLYPH_RUN -> glyphs += list.arg1(i);
+                case RenderCommandList.TRIANGLES -> triangles += list.arg1(i);
+                case RenderCommandList.LINE_STRIP -> lineStrips++;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "frames=" + frames +
+                ", commands=" + commands +
+                ", vertices=" + vertices +
+                ", textureChanges=" + textureChanges +
+                ", blendChanges=" + blendChanges +
+                ", quads=" + quads +
+                ", glyphs=" + glyphs +
+                ", triangles=" + triangles +
+                ", lineStrips=" + lineStrips +
+                '}';
+    }
+}
@@ -0,0 +1,690 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import com.ancevt.d2d2.event.SceneEvent;
+import com.ancevt.d2d2.scene.Animated;
+import com.ancevt.d2d2.scene.Color;
+import com.ancevt.d2d2.scene.Colored;
+import com.ancevt.d2d2.scene.DrawnBounds;
+import com.ancevt.d2d2.scene.Group;
+import com.ancevt.d2d2.scene.Node;
+import com.ancevt.d2d2.scene.Sprite;
+import com.ancevt.d2d2.scene.shape.Shape;
+import com.ancevt.d2d2.scene.text.BitmapText;
+import com.ancevt.d2d2.scene.text.GlyphLayout;
+import com.ancevt.d2d2.scene.texture.Texture;
+import com.ancevt.d2d2.scene.texture.TextureRegion;
+import lombok.Getter;
+import lombok.Setter;
+import org.joml.Matrix3x2f;
+import org.joml.Matrix3x2fStack;
+import org.joml.Matrix3x2fc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import static java.lang.Math.round;
+
+/**
+ * Walks the scene graph and records what has to be drawn into a {@link RenderCommandList}. Keeps the per-node
+ * side effects of the walk (pre/post frame events, global z-order, animation frames) but never touches OpenGL,
+ * so the recorded frame can be replayed by any {@link RenderBackend}.
+ * <p>
+ * With culling enabled, nodes whose {@link DrawnBounds} from an earlier frame lie outside the viewport are not
+ * descended into: their content and their descendants' frame events are skipped until they come back into view.
+ * <p>
+ * Groups with {@link Group#isCacheAsTexture()} are recorded into a separate command list in group space whenever
+ * their cache is stale. The renderer draws such lists into offscreen textures, see
+ * {@link #getPendingTextureCaches()}, and the group itself is recorded as a single textured quad. While a cache
+ * is reused its children are still walked for their frame events, z-order and animation frames.
+ */
+public class RenderCommandBuilder {
+
+    private static final int MAX_NODE_DEPTH = 1024;
+
+    /**
+     * Larger texture caches are not rendered offscreen; their commands are replayed into the frame instead
+     */
+    private static final int MAX_TEXTURE_CACHE_SIZE = 4096;
+
+    /**
+     * Texture caches of groups not drawn for this many frames are released
+     */
+    private static final int TEXTURE_CACHE_TTL_FRAMES = 60;
+
+    @Getter
+    private final RenderCommandList commands = new RenderCommandList();
+
+    // List the walk currently records into: the frame list or the list of a texture cache
+    private RenderCommandList target = commands;
+
+    private final Matrix3x2fStack matrixStack = new Matrix3x2fStack(MAX_NODE_DEPTH);
+
+    private final Map<Group, TextureCache> textureCaches = new HashMap<>();
+    private final List<TextureCache> pendingTextureCaches = new ArrayList<>();
+    private final List<TextureCache> releasedTextureCaches = new ArrayList<>();
+    private int frame;
+
+    /**
+     * Supplies texture ids for texture caches. Without it {@link Group#isCacheAsTexture()} is ignored.
+     */
+    @Setter
+    private IntSupplier textureIdAllocator;
+
+    private final Matrix3x2f inverseMatrix = new Matrix3x2f();
+
+    // World-space bounds accumulated per traversal depth
+    private final float[] boundsMinX = new float[MAX_NODE_DEPTH + 2];
+    private final float[] boundsMinY = new float[MAX_NODE_DEPTH + 2];
+    private final float[] boundsMaxX = new float[MAX_NODE_DEPTH + 2];
+    private final float[] boundsMaxY = new float[MAX_NODE_DEPTH + 2];
+    private final int[] boundsNodeCount = new int[MAX_NODE_DEPTH + 2];
+    private final boolean[] boundsComplete = new boolean[MAX_NODE_DEPTH + 2];
+
+    private int zOrderCounter;
+
+    @Getter
+    @Setter
+    private boolean cullingEnabled;
+
+    private float viewportWidth;
+    private float viewportHeight;
+
+    /**
+     * Nodes drawn during the last frame
+     */
+    @Getter
+    private int drawnNodes;
+
+    /**
+     * Nodes skipped by culling during the last frame, counted with their descendants
+     */
+    @Getter
+    private int culledNodes;
+
+    public void begin() {
+        commands.clear();
+        commands.setColor(1f, 1f, 1f, 1f);
+        matrixStack.clear();
+        zOrderCounter = 0;
+        drawnNodes = 0;
+        culledNodes = 0;
+
+        frame++;
+        pendingTextureCaches.clear();
+        releasedTextureCaches.clear();
+        Iterator<Map.Entry<Group, TextureCache>> iterator = textureCaches.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Group, TextureCache> entry = iterator.next();
+            Group group = entry.getKey();
+            if (!group.isCacheAsTexture() || frame - entry.getValue().lastUsedFrame > TEXTURE_CACHE_TTL_FRAMES) {
+                iterator.remove();
+                group.setTextureCacheValid(false);
+                releasedTextureCaches.add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Texture caches recorded during the current frame; they have to be rendered into their textures before the
+     * frame commands are executed.
+     */
+    public List<TextureCache> getPendingTextureCaches() {
+        return pendingTextureCaches;
+    }
+
+    /**
+     * Texture caches dropped at the beginning of the current frame whose textures can be deleted.
+     */
+    public List<TextureCache> getReleasedTextureCaches() {
+        return releasedTextureCaches;
+    }
+
+    public void setViewport(float width, float height) {
+        viewportWidth = width;
+        viewportHeight = height;
+    }
+
+    public void build(Node node, float toX, float toY, float toScaleX, float toScaleY, float toAlpha) {
+        buildNode(node, 0, cullingEnabled, toX, toY, toScaleX, toScaleY, toAlpha);
+    }
+
+    private void buildNode(Node node,
+                           int depth,
+                           boolean cullable,
+                           float toX,
+                           float toY,
+                           float toScaleX,
+                           float toScaleY,
+                           float toAlpha) {
+
+        if (!node.isVisible()) return;
+
+        node.preFrame();
+        if (node.hasEventListeners(SceneEvent.PreFrame.class)) {
+            node.dispatchEvent(SceneEvent.PreFrame.create());
+        }
+
+        zOrderCounter++;
+        node.setGlobalZOrderIndex(zOrderCounter);
+
+        float scX = node.getScaleX() * toScaleX;
+        float scY = node.getScaleY() * toScaleY;
+        float r = node.getRotation();
+
+        float x = toScaleX * node.getX();
+        float y = toScaleY * node.getY();
+
+        float a = node.getAlpha() * toAlpha;
+
+        if (node.isIntegerPixelAlignmentEnabled()) {
+            x = round(x);
+            y = round(y);
+        }
+
+        matrixStack.pushMatrix()
+                .translate(x, y)
+                .rotate((float) Math.toRadians(r))
+                .scale(scX, scY);
+
+        if (node instanceof Colored colored) {
+            Color color = colored.getColor();
+
+            if (color != null) {
+                target.setColor(
+                        color.getR() / 255f,
+                        color.getG() / 255f,
+                        color.getB() / 255f,
+                        a
+                );
+            }
+        }
+
+        boolean cullingDisabledHere = node instanceof Group group && !group.isCullingEnabled();
+        if (cullingDisabledHere) cullable = false;
+
+        DrawnBounds drawnBounds = node.getDrawnBounds();
+
+        if (cullable && drawnBounds != null && drawnBounds.isValid() && !isInViewport(drawnBounds, depth)) {
+            culledNodes += drawnBounds.getNodeCount();
+        } else {
+            int firstVertex = target.getVertexCount();
+            beginBounds(depth);
+            buildContent(node, depth, cullable, x + toX, y + toY, toScaleX, toScaleY, a);
+            drawnNodes++;
+            // Content of such a group is not trusted to stay inside its bounds, so ancestors must not cull it either
+            if (cullingDisabledHere) boundsComplete[depth] = false;
+            if (cullingEnabled) endBounds(node, drawnBounds, depth, firstVertex);
+        }
+
+        if (node instanceof Animated fs) {
+            fs.processFrame();
+        }
+
+        matrixStack.popMatrix();
+
+        node.postFrame();
+        if (node.hasEventListeners(SceneEvent.PostFrame.class)) {
+            node.dispatchEvent(SceneEvent.PostFrame.create());
+        }
+    }
+
+    private void buildContent(Node node,
+                              int depth,
+                              boolean cullable,
+                              float toX,
+                              float toY,
+                              float toScaleX,
+                              float toScaleY,
+                              float a) {
+
+        if (node instanceof Group group) {
+            if (group.isCacheAsTexture() && textureIdAllocator != null) {
+                buildCachedGroup(group, depth, a);
+            } else {
+                buildChildren(group, depth, cullable, toX, toY, toScaleX, toScaleY, a);
+            }
+        } else if (node instanceof Sprite s) {
+            buildSprite(s, a);
+        } else if (node instanceof BitmapText btx) {
+            if (btx.isCacheAsSprite()) {
+                buildSprite(btx.cachedSprite(), a);
+            } else {
+                buildBitmapText(btx, a);
+            }
+        } else if (node instanceof Shape s) {
+            LwjglShapeRenderer.emitShape(s, target, matrixStack);
+        }
+    }
+
+    private void buildChildren(Group group,
+                               int depth,
+                               boolean cullable,
+                               float toX,
+                               float toY,
+                               float toScaleX,
+                               float toScaleY,
+                               float a) {
+
+        if (group.isLayerMode()) {
+            for (Node child : group.getLayerOrder()) {
+                buildNode(child, depth + 1, cullable, toX, toY, toScaleX, toScaleY, a);
+            }
+        } else {
+            for (int i = 0; i < group.getNumChildren(); i++) {
+                buildNode(group.getChild(i), depth + 1, cullable, toX, toY, toScaleX, toScaleY, a);
+            }
+        }
+    }
+
+    private void buildCachedGroup(Group group, int depth, float alpha) {
+        TextureCache cache = textureCaches.get(group);
+        if (cache == null) {
+            cache = new TextureCache(textureIdAllocator.getAsInt());
+            textureCaches.put(group, cache);
+            group.setTextureCacheValid(false);
+        }
+        cache.lastUsedFrame = frame;
+
+        if (!group.isTextureCacheValid()) {
+            recordTextureCache(group, cache, depth);
+        } else {
+            visitCachedChildren(group);
+        }
+
+        float minX = cache.originX;
+        float minY = cache.originY;
+        float maxX = minX + cache.width;
+        float maxY = minY + cache.height;
+
+        if (cache.oversized) {
+            matrixStack.pushMatrix().translate(minX, minY);
+            target.append(cache.commands, matrixStack, alpha);
+            matrixStack.popMatrix();
+        } else if (cache.width > 0 && cache.height > 0) {
+            // The cache holds premultiplied colors, so the alpha of the group scales all channels
+            target.setBlend(RenderCommandList.BLEND_PREMULTIPLIED);
+            target.setTexture(cache.textureId);
+            target.setColor(alpha, alpha, alpha, alpha);
+            target.quad(matrixStack,
+                    minX, maxY, 0f, 1f,
+                    maxX, maxY, 1f, 1f,
+                    maxX, minY, 1f, 0f,
+                    minX, minY, 0f, 0f
+            );
+            target.setBlend(RenderCommandList.BLEND_STRAIGHT);
+        }
+
+        // Children were measured in group space, so the bounds of the group are taken from the cache instead
+        beginBounds(depth);
+        if (cache.width > 0 && cache.height > 0) {
+            addLocalRect(matrixStack, minX, minY, maxX, maxY, depth);
+        }
+        boundsComplete[depth] = !cache.oversized;
+    }
+
+    /**
+     * Keeps the side effects of the walk for children drawn from a valid texture cache without recording them.
+     */
+    private void visitCachedChildren(Group group) {
+        if (group.isLayerMode()) {
+            for (Node child : group.getLayerOrder()) {
+                visitCachedNode(child);
+            }
+        } else {
+            for (int i = 0; i < group.getNumChildren(); i++) {
+                visitCachedNode(group.getChild(i));
+            }
+        }
+    }
+
+    private void visitCachedNode(Node node) {
+        if (!node.isVisible()) return;
+
+        node.preFrame();
+        if (node.hasEventListeners(SceneEvent.PreFrame.class)) {
+            node.dispatchEvent(SceneEvent.PreFrame.create());
+        }
+
+        zOrderCounter++;
+        node.setGlobalZOrderIndex(zOrderCounter);
+
+        if (node instanceof Group group) {
+            visitCachedChildren(group);
+        }
+
+        if (node instanceof Animated fs) {
+            fs.processFrame();
+        }
+
+        node.postFrame();
+        if (node.hasEventListeners(SceneEvent.PostFrame.class)) {
+            node.dispatchEvent(SceneEvent.PostFrame.create());
+        }
+    }
+
+    private void recordTextureCache(Group group, TextureCache cache, int depth) {
+        // Marked before the walk, so changes made by frame listeners of the children invalidate it again
+        group.setTextureCacheValid(true);
+
+        RenderCommandList previous = target;
+        target = cache.commands;
+        target.clear();
+        target.setColor(1f, 1f, 1f, 1f);
+        matrixStack.pushMatrix().identity();
+        buildChildren(group, depth, false, 0f, 0f, 1f, 1f, 1f);
+        matrixStack.popMatrix();
+        target = previous;
+
+        RenderCommandList recorded = cache.commands;
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float[] vertices = recorded.vertices();
+        for (int v = 0; v < recorded.getVertexCount(); v++) {
+            int i = v * RenderCommandList.FLOATS_PER_VERTEX;
+            minX = Math.min(minX, vertices[i]);
+            minY = Math.min(minY, vertices[i + 1]);
+            maxX = Math.max(maxX, vertices[i]);
+            maxY = Math.max(maxY, vertices[i + 1]);
+        }
+
+        if (recorded.getVertexCount() == 0) {
+            cache.originX = 0;
+            cache.originY = 0;
+            cache.width = 0;
+            cache.height = 0;
+            cache.oversized = false;
+            return;
+        }
+
+        cache.originX = (int) Math.floor(minX);
+        cache.originY = (int) Math.floor(minY);
+        cache.width = (int) Math.ceil(maxX) - cache.originX;
+        cache.height = (int) Math.ceil(maxY) - cache.originY;
+        cache.oversized = cache.width > MAX_TEXTURE_CACHE_SIZE || cache.height > MAX_TEXTURE_CACHE_SIZE;
+
+        recorded.translate(-cache.originX, -cache.originY);
+        if (!cache.oversized) {
+            pendingTextureCaches.add(cache);
+        }
+    }
+
+    /**
+     * Tests the drawn bounds of the current node against the viewport. A node outside of it still contributes
+     * its bounds to the parent, so the parent keeps covering it.
+     */
+    private boolean isInViewport(DrawnBounds drawnBounds, int depth) {
+        beginBounds(depth);
+        addLocalRect(matrixStack,
+                drawnBounds.getMinX(), drawnBounds.getMinY(), drawnBounds.getMaxX(), drawnBounds.getMaxY(), depth);
+
+        boolean visible = boundsMaxX[depth] >= 0 && boundsMinX[depth] <= viewportWidth
+                && boundsMaxY[depth] >= 0 && boundsMinY[depth] <= viewportHeight;
+
+        if (!visible) {
+            boundsNodeCount[depth] = drawnBounds.getNodeCount();
+            mergeBoundsIntoParent(depth);
+        }
+        return visible;
+    }
+
+    private void beginBounds(int depth) {
+        boundsMinX[depth] = Float.POSITIVE_INFINITY;
+        boundsMinY[depth] = Float.POSITIVE_INFINITY;
+        boundsMaxX[depth] = Float.NEGATIVE_INFINITY;
+        boundsMaxY[depth] = Float.NEGATIVE_INFINITY;
+        boundsNodeCount[depth] = 0;
+        boundsComplete[depth] = true;
+    }
+
+    private void endBounds(Node node, DrawnBounds drawnBounds, int depth, int firstVertex) {
+        boundsNodeCount[depth]++;
+
+        if (!(node instanceof Group)) {
+            int lastVertex = target.getVertexCount();
+            if (lastVertex == firstVertex) {
+                // Nothing drawn, e.g. the texture is not loaded yet, so there is nothing to cull by
+                boundsComplete[depth] = false;
+            }
+            float[] vertices = target.vertices();
+            for (int v = firstVertex; v < lastVertex; v++) {
+                int i = v * RenderCommandList.FLOATS_PER_VERTEX;
+                addPoint(vertices[i], vertices[i + 1], depth);
+            }
+        }
+
+        if (drawnBounds != null) {
+            boolean empty = boundsMinX[depth] > boundsMaxX[depth];
+            if (boundsComplete[depth] && !empty && Math.abs(matrixStack.determinant()) > 0f) {
+                matrixStack.invert(inverseMatrix);
+                float minX = boundsMinX[depth];
+                float minY = boundsMinY[depth];
+                float maxX = boundsMaxX[depth];
+                float maxY = boundsMaxY[depth];
+
+                // Reuse the next level as scratch space for the local rectangle
+                beginBounds(depth + 1);
+                addLocalRect(inverseMatrix, minX, minY, maxX, maxY, depth + 1);
+                drawnBounds.set(
+                        boundsMinX[depth + 1], boundsMinY[depth + 1],
+                        boundsMaxX[depth + 1], boundsMaxY[depth + 1],
+                        boundsNodeCount[depth]
+                );
+            } else {
+                drawnBounds.invalidate();
+            }
+        }
+
+        mergeBoundsIntoParent(depth);
+    }
+
+    private void mergeBoundsIntoParent(int depth) {
+        if (depth == 0) return;
+        int parent = depth - 1;
+
+        boundsMinX[parent] = Math.min(boundsMinX[parent], boundsMinX[depth]);
+        boundsMinY[parent] = Math.min(boundsMinY[parent], boundsMinY[depth]);
+        boundsMaxX[parent] = Math.max(boundsMaxX[parent], boundsMaxX[depth]);
+        boundsMaxY[parent] = Math.max(boundsMaxY[parent], boundsMaxY[depth]);
+        boundsNodeCount[parent] += boundsNodeCount[depth];
+        boundsComplete[parent] &= boundsComplete[depth];
+    }
+
+    private void addLocalRect(Matrix3x2fc m, float minX, float minY, float maxX, float maxY, int depth) {
+        addPoint(m, minX, minY, depth);
+        addPoint(m, maxX, minY, depth);
+        addPoint(m, maxX, maxY, depth);
+        addPoint(m, minX, maxY, depth);
+    }
+
+    private void addPoint(Matrix3x2fc m, float x, float y, int depth) {
+        addPoint(
+                m.m00() * x + m.m10() * y + m.m20(),
+                m.m01() * x + m.m11() * y + m.m21(),
+                depth
+        );
+    }
+
+    private void addPoint(float x, float y, int depth) {
+        if (x < boundsMinX[depth]) boundsMinX[depth] = x;
+        if (y < boundsMinY[depth]) boundsMinY[depth] = y;
+        if (x > boundsMaxX[depth]) boundsMaxX[depth] = x;
+        if (y > boundsMaxY[depth]) boundsMaxY[depth] = y;
+    }
+
+    private void buildSprite(Sprite sprite, float alpha) {
+        TextureRegion textureRegion = sprite.getTextureRegion();
+
+        if (textureRegion == null) return;
+        if (textureRegion.getTexture().isDisposed()) return;
+
+        Texture texture = textureRegion.getTexture();
+        target.setTexture(texture.getId());
+
+        // Textures rendered on the GPU hold premultiplied colors, so the tint is premultiplied as well
+        Color color = sprite.getColor();
+        boolean premultiplied = texture.isPremultipliedAlpha();
+        if (premultiplied) {
+            target.setBlend(RenderCommandList.BLEND_PREMULTIPLIED);
+            if (color != null) {
+                target.setColor(
+                        color.getR() / 255f * alpha,
+                        color.getG() / 255f * alpha,
+                        color.getB() / 255f * alpha,
+                        alpha
+                );
+            }
+        }
+
+        int tX = textureRegion.getX();
+        int tY = textureRegion.getY();
+        int tW = textureRegion.getWidth();
+        int tH = textureRegion.getHeight();
+
+        float totalW = texture.getWidth();
+        float totalH = texture.getHeight();
+
+        float x = tX / totalW;
+        float y = tY / totalH;
+        float w = tW / totalW;
+        float h = tH / totalH;
+
+        float repeatX = sprite.getRepeatX();
+        float repeatY = sprite.getRepeatY();
+
+        double vertexBleedingFix = sprite.getVertexBleedingFix();
+        double textureBleedingFix = sprite.getTextureBleedingFix();
+
+        for (int rY = 0; rY < repeatY; rY++) {
+            for (float rX = 0; rX < repeatX; rX++) {
+                float px = round(rX * tW * (float) 1);
+                float py = round(rY * tH * (float) 1);
+
+                double textureTop = y + textureBleedingFix;
+                double textureBottom = (h + y) - textureBleedingFix;
+                double textureLeft = x + textureBleedingFix;
+                double textureRight = (w + x) - textureBleedingFix;
+
+                double vertexTop = py - vertexBleedingFix;
+                double vertexBottom = py + tH + vertexBleedingFix;
+                double vertexLeft = px - vertexBleedingFix;
+                double vertexRight = px + tW + vertexBleedingFix;
+
+                if (repeatX - rX < 1.0) {
+                    double val = repeatX - rX;
+                    vertexRight = px + tW * val + vertexBleedingFix;
+                    textureRight *= val;
+                }
+
+                if (repeatY - rY < 1.0) {
+                    double val = repeatY - rY;
+                    vertexBottom = py + tH * val + vertexBleedingFix;
+                    textureBottom = (h * val + y) - textureBleedingFix;
+                }
+
+                target.quad(matrixStack,
+                        (float) vertexLeft, (float) vertexBottom, (float) textureLeft, (float) textureBottom,
+                        (float) vertexRight, (float) vertexBottom, (float) textureRight, (float) textureBottom,
+                        (float) vertexRight, (float) vertexTop, (float) textureRight, (float) textureTop,
+                        (float) vertexLeft, (float) vertexTop, (float) textureLeft, (float) textureTop
+                );
+            }
+        }
+
+        if (premultiplied) {
+            target.setBlend(RenderCommandList.BLEND_STRAIGHT);
+            if (color != null) {
+                target.setColor(color.getR() / 255f, color.getG() / 255f, color.getB() / 255f, alpha);
+            }
+        }
+    }
+
+    private void buildBitmapText(BitmapText bitmapText, float alpha) {
+        if (bitmapText.isEmpty()) return;
+
+        Texture texture = bitmapText.getBitmapFont().getTexture();
+        target.setTexture(texture.getId());
+
+        GlyphLayout layout = bitmapText.getGlyphLayout();
+        boolean multicolor = layout.isMulticolor();
+        int color = -1;
+
+        float tf = (float) bitmapText.getTextureBleedingFix();
+        float vf = (float) bitmapText.getVertexBleedingFix();
+
+        for (int i = 0; i < layout.getGlyphCount(); i++) {
+            if (multicolor && layout.getColor(i) != color) {
+                color = layout.getColor(i);
+                target.setColor(
+                        ((color >> 16) & 0xFF) / 255f,
+                        ((color >> 8) & 0xFF) / 255f,
+                        (color & 0xFF) / 255f,
+                        alpha
+                );
+            }
+
+            float x = layout.getX(i);
+            float y = layout.getY(i);
+            float right = x + layout.getWidth(i);
+            float top = y - layout.getHeight(i);
+            float u0 = layout.getU0(i);
+            float v0 = layout.getV0(i);
+            float u1 = layout.getU1(i);
+            float v1 = layout.getV1(i);
+
+            target.glyph(matrixStack,
+                    x - vf, y + vf, u0 - tf, v0 + tf,
+                    right + vf, y + vf, u1 + tf, v0 + tf,
+                    right + vf, top - vf, u1 + tf, v1 - tf,
+                    x - vf, top - vf, u0 - tf, v1 - tf
+            );
+        }
+    }
+
+    /**
+     * Commands of a group rendered into its own texture. Vertices are relative to the top left corner of the
+     * cached area.
+     */
+    public static final class TextureCache {
+        @Getter
+        private final int textureId;
+        @Getter
+        private final RenderCommandList commands = new RenderCommandList();
+        @Getter
+        private int width;
+        @Getter
+        private int height;
+
+        private int originX;
+        private int originY;
+        private boolean oversized;
+        private int lastUsedFrame;
+
+        private TextureCache(int textureId) {
+            this.textureId = textureId;
+        }
+    }
+}
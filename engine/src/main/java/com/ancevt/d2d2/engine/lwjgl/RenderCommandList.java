@@ -0,0 +1,319 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import org.joml.Matrix3x2fc;
+
+import java.util.Arrays;
+
+/**
+ * Flat, primitive-array list of render commands produced by {@link RenderCommandBuilder} and consumed by a
+ * {@link RenderBackend}. Every command occupies {@link #COMMAND_STRIDE} ints: an opcode followed by three
+ * arguments. Vertices are stored already transformed to world space as interleaved
+ * {@code x, y, u, v, r, g, b, a} floats.
+ * <p>
+ * Commands:
+ * <ul>
+ *     <li>{@link #TEXTURE} - texture id (0 for untextured geometry)</li>
+ *     <li>{@link #LINE_STYLE} - line width float bits, stipple factor, stipple pattern</li>
+ *     <li>{@link #QUADS}, {@link #GLYPH_RUN} - first vertex, quad count (4 vertices per quad)</li>
+ *     <li>{@link #TRIANGLES} - first vertex, triangle count</li>
+ *     <li>{@link #LINE_STRIP} - first vertex, vertex count</li>
+ *     <li>{@link #BLEND} - {@link #BLEND_STRAIGHT} or {@link #BLEND_PREMULTIPLIED}</li>
+ * </ul>
+ * Consecutive quads, glyphs and triangles are merged into one command while the state does not change.
+ */
+public final class RenderCommandList {
+
+    public static final int TEXTURE = 1;
+    public static final int LINE_STYLE = 2;
+    public static final int QUADS = 3;
+    public static final int GLYPH_RUN = 4;
+    public static final int TRIANGLES = 5;
+    public static final int LINE_STRIP = 6;
+    public static final int BLEND = 7;
+
+    public static final int NO_TEXTURE = 0;
+
+    public static final int BLEND_STRAIGHT = 0;
+    public static final int BLEND_PREMULTIPLIED = 1;
+
+    public static final int COMMAND_STRIDE = 4;
+    public static final int FLOATS_PER_VERTEX = 8;
+
+    private static final int INITIAL_COMMANDS = 256;
+    private static final int INITIAL_VERTICES = 4096;
+
+    private int[] commands = new int[INITIAL_COMMANDS * COMMAND_STRIDE];
+    private float[] vertices = new float[INITIAL_VERTICES * FLOATS_PER_VERTEX];
+
+    private int commandCount;
+    private int vertexCount;
+
+    private int textureId = -1;
+    private int blend = BLEND_STRAIGHT;
+
+    private float r = 1f;
+    private float g = 1f;
+    private float b = 1f;
+    private float a = 1f;
+
+    public void clear() {
+        commandCount = 0;
+        vertexCount = 0;
+        textureId = -1;
+        blend = BLEND_STRAIGHT;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int opcode(int command) {
+        return commands[command * COMMAND_STRIDE];
+    }
+
+    public int arg0(int command) {
+        return commands[command * COMMAND_STRIDE + 1];
+    }
+
+    public int arg1(int command) {
+        return commands[command * COMMAND_STRIDE + 2];
+    }
+
+    public int arg2(int command) {
+        return commands[command * COMMAND_STRIDE + 3];
+    }
+
+    /**
+     * Backing vertex array; valid up to {@link #getVertexCount()} vertices.
+     */
+    public float[] vertices() {
+        return vertices;
+    }
+
+    public void setTexture(int textureId) {
+        if (this.textureId == textureId) return;
+        this.textureId = textureId;
+        addCommand(TEXTURE, textureId, 0, 0);
+    }
+
+    public int getTexture() {
+        return textureId;
+    }
+
+    /**
+     * Switches between straight and premultiplied alpha for the following geometry. Lists start straight.
+     */
+    public void setBlend(int blend) {
+        if (this.blend == blend) return;
+        this.blend = blend;
+        addCommand(BLEND, blend, 0, 0);
+    }
+
+    public int getBlend() {
+        return blend;
+    }
+
+    public void setColor(float r, float g, float b, float a) {
+        this.r = r;
+        this.g = g;
+        this.b = b;
+        this.a = a;
+    }
+
+    public void setLineStyle(float lineWidth, int stippleFactor, short stipple) {
+        addCommand(LINE_STYLE, Float.floatToIntBits(lineWidth), stippleFactor, stipple);
+    }
+
+    /**
+     * Adds a quad given by four corners in winding order.
+     */
+    public void quad(Matrix3x2fc m,
+                     float x1, float y1, float u1, float v1,
+                     float x2, float y2, float u2, float v2,
+                     float x3, float y3, float u3, float v3,
+                     float x4, float y4, float u4, float v4) {
+        quad(QUADS, m, x1, y1, u1, v1, x2, y2, u2, v2, x3, y3, u3, v3, x4, y4, u4, v4);
+    }
+
+    /**
+     * Same as {@link #quad} but recorded as part of a glyph run.
+     */
+    public void glyph(Matrix3x2fc m,
+                      float x1, float y1, float u1, float v1,
+                      float x2, float y2, float u2, float v2,
+                      float x3, float y3, float u3, float v3,
+                      float x4, float y4, float u4, float v4) {
+        quad(GLYPH_RUN, m, x1, y1, u1, v1, x2, y2, u2, v2, x3, y3, u3, v3, x4, y4, u4, v4);
+    }
+
+    public void triangle(Matrix3x2fc m,
+                         float x1, float y1,
+                         float x2, float y2,
+                         float x3, float y3) {
+        extendOrAdd(TRIANGLES, 3);
+        vertex(m, x1, y1, 0f, 0f);
+        vertex(m, x2, y2, 0f, 0f);
+        vertex(m, x3, y3, 0f, 0f);
+    }
+
+    /**
+     * Moves every vertex recorded so far by the given offset.
+     */
+    public void translate(float dx, float dy) {
+        for (int v = 0; v < vertexCount; v++) {
+            int i = v * FLOATS_PER_VERTEX;
+            vertices[i] += dx;
+            vertices[i + 1] += dy;
+        }
+    }
+
+    /**
+     * Appends all commands of another list, transforming its vertices by the matrix and scaling their alpha.
+     * Colors of premultiplied geometry are scaled as well.
+     */
+    public void append(RenderCommandList source, Matrix3x2fc m, float alpha) {
+        int base = vertexCount;
+        int required = (vertexCount + source.vertexCount) * FLOATS_PER_VERTEX;
+        if (required > vertices.length) {
+            vertices = Arrays.copyOf(vertices, Math.max(required, vertices.length * 2));
+        }
+        float[] src = source.vertices;
+        for (int v = 0; v < source.vertexCount; v++) {
+            int i = v * FLOATS_PER_VERTEX;
+            int j = vertexCount * FLOATS_PER_VERTEX;
+            float x = src[i];
+            float y = src[i + 1];
+            vertices[j] = m.m00() * x + m.m10() * y + m.m20();
+            vertices[j + 1] = m.m01() * x + m.m11() * y + m.m21();
+            vertices[j + 2] = src[i + 2];
+            vertices[j + 3] = src[i + 3];
+            vertices[j + 4] = src[i + 4];
+            vertices[j + 5] = src[i + 5];
+            vertices[j + 6] = src[i + 6];
+            vertices[j + 7] = src[i + 7] * alpha;
+            vertexCount++;
+        }
+
+        int targetBlend = blend;
+        int sourceBlend = BLEND_STRAIGHT;
+        for (int c = 0; c < source.commandCount; c++) {
+            int opcode = source.opcode(c);
+            if (opcode == TEXTURE) {
+                setTexture(source.arg0(c));
+            } else if (opcode == BLEND) {
+                sourceBlend = source.arg0(c);
+                setBlend(sourceBlend);
+            } else if (opcode == LINE_STYLE) {
+                addCommand(opcode, source.arg0(c), source.arg1(c), source.arg2(c));
+            } else {
+                int first = source.arg0(c) + base;
+                if (sourceBlend == BLEND_PREMULTIPLIED && alpha != 1f) {
+                    scaleColors(first, verticesOf(opcode, source.arg1(c)), alpha);
+                }
+                addCommand(opcode, first, source.arg1(c), source.arg2(c));
+            }
+        }
+        setBlend(targetBlend);
+    }
+
+    private void scaleColors(int first, int count, float factor) {
+        for (int v = first; v < first + count; v++) {
+            int i = v * FLOATS_PER_VERTEX;
+            vertices[i + 4] *= factor;
+            vertices[i + 5] *= factor;
+            vertices[i + 6] *= factor;
+        }
+    }
+
+    private static int verticesOf(int opcode, int count) {
+        return switch (opcode) {
+            case QUADS, GLYPH_RUN -> count * 4;
+            case TRIANGLES -> count * 3;
+            default -> count;
+        };
+    }
+
+    public void beginLineStrip() {
+        addCommand(LINE_STRIP, vertexCount, 0, 0);
+    }
+
+    public void lineVertex(Matrix3x2fc m, float x, float y) {
+        vertex(m, x, y, 0f, 0f);
+        commands[(commandCount - 1) * COMMAND_STRIDE + 2]++;
+    }
+
+    private void quad(int opcode,
+                      Matrix3x2fc m,
+                      float x1, float y1, float u1, float v1,
+                      float x2, float y2, float u2, float v2,
+                      float x3, float y3, float u3, float v3,
+                      float x4, float y4, float u4, float v4) {
+        extendOrAdd(opcode, 4);
+        vertex(m, x1, y1, u1, v1);
+        vertex(m, x2, y2, u2, v2);
+        vertex(m, x3, y3, u3, v3);
+        vertex(m, x4, y4, u4, v4);
+    }
+
+    private void extendOrAdd(int opcode, int verticesPerPrimitive) {
+        if (commandCount > 0) {
+            int last = (commandCount - 1) * COMMAND_STRIDE;
+            if (commands[last] == opcode
+                    && commands[last + 1] + commands[last + 2] * verticesPerPrimitive == vertexCount) {
+                commands[last + 2]++;
+                return;
+            }
+        }
+        addCommand(opcode, vertexCount, 1, 0);
+    }
+
+    private void addCommand(int opcode, int arg0, int arg1, int arg2) {
+        int i = commandCount * COMMAND_STRIDE;
+        if (i + COMMAND_STRIDE > commands.length) {
+            commands = Arrays.copyOf(commands, commands.length * 2);
+        }
+        commands[i] = opcode;
+        commands[i + 1] = arg0;
+        commands[i + 2] = arg1;
+        commands[i + 3] = arg2;
+        commandCount++;
+    }
+
+    private void vertex(Matrix3x2fc m, float x, float y, float u, float v) {
+        int i = vertexCount * FLOATS_PER_VERTEX;
+        if (i + FLOATS_PER_VERTEX > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+        vertices[i] = m.m00() * x + m.m10() * y + m.m20();
+        vertices[i + 1] = m.m01() * x + m.m11() * y + m.m21();
+        vertices[i + 2] = u;
+        vertices[i + 3] = v;
+        vertices[i + 4] = r;
+        vertices[i + 5] = g;
+        vertices[i + 6] = b;
+        vertices[i + 7] = a;
+        vertexCount++;
+    }
+}
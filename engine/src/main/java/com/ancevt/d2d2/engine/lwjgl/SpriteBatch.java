@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+/**
+ * CPU-side vertex accumulator for the batch backend. Takes world-space vertices in the
+ * {@link RenderCommandList} layout and hands them to a {@link Flusher} as triangles whenever the texture
+ * changes or the buffer is full. Has no dependency on a GL context.
+ */
+class SpriteBatch {
+
+    static final int FLOATS_PER_VERTEX = RenderCommandList.FLOATS_PER_VERTEX;
+    static final int DEFAULT_MAX_VERTICES = 6 * 4096;
+    static final int NO_TEXTURE = 0;
+
+    private final float[] vertices;
+    private final int maxVertices;
+    private final Flusher flusher;
+
+    private int vertexCount;
+    private int textureId = NO_TEXTURE;
+
+    private int flushCount;
+
+    SpriteBatch(Flusher flusher) {
+        this(DEFAULT_MAX_VERTICES, flusher);
+    }
+
+    SpriteBatch(int maxVertices, Flusher flusher) {
+        if (maxVertices < 6) throw new IllegalArgumentException("maxVertices must be at least 6");
+        this.maxVertices = maxVertices;
+        this.flusher = flusher;
+        vertices = new float[maxVertices * FLOATS_PER_VERTEX];
+    }
+
+    void setTexture(int textureId) {
+        if (this.textureId == textureId) return;
+        flush();
+        this.textureId = textureId;
+    }
+
+    int getTexture() {
+        return textureId;
+    }
+
+    /**
+     * Adds a quad whose four corners start at {@code firstVertex} in {@code source}, emitted as two
+     * triangles (1-2-3, 1-3-4).
+     */
+    void quad(float[] source, int firstVertex) {
+        ensureCapacity(6);
+        copyVertex(source, firstVertex);
+        copyVertex(source, firstVertex + 1);
+        copyVertex(source, firstVertex + 2);
+        copyVertex(source, firstVertex);
+        copyVertex(source, firstVertex + 2);
+        copyVertex(source, firstVertex + 3);
+    }
+
+    void triangle(float[] source, int firstVertex) {
+        ensureCapacity(3);
+        copyVertex(source, firstVertex);
+        copyVertex(source, firstVertex + 1);
+        copyVertex(source, firstVertex + 2);
+    }
+
+    void flush() {
+        if (vertexCount == 0) return;
+        flusher.flush(vertices, vertexCount, textureId);
+        vertexCount = 0;
+        flushCount++;
+    }
+
+    int getVertexCount() {
+        return vertexCount;
+    }
+
+    int getFlushCount() {
+        return flushCount;
+    }
+
+    void resetFlushCount() {
+        flushCount = 0;
+    }
+
+    private void ensureCapacity(int count) {
+        if (vertexCount + count > maxVertices) flush();
+    }
+
+    private void copyVertex(float[] source, int vertex) {
+        System.arraycopy(
+                source, vertex * FLOATS_PER_VERTEX,
+                vertices, vertexCount * FLOATS_PER_VERTEX,
+                FLOATS_PER_VERTEX
+        );
+        vertexCount++;
+    }
+
+    @FunctionalInterface
+    interface Flusher {
+        void flush(float[] vertices, int vertexCount, int textureId);
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import com.ancevt.d2d2.scene.texture.Texture;
+import de.matthiasmann.twl.utils.PNGDecoder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Decodes images into direct RGBA buffers. PNG files are decoded by {@link PNGDecoder} straight into a pooled
+ * buffer without an intermediate {@link BufferedImage}; other formats and PNG variants it does not handle, such
+ * as interlaced images, go through ImageIO.
+ * <p>
+ * Asynchronous decoding runs on a small pool of worker threads. Finished work is collected in a
+ * queue the render thread drains, so everything touching OpenGL or the texture registry stays on that thread.
+ * <p>
+ * The pool queue is bounded: when it is full, further tasks wait in a list that is fed to the pool whenever the
+ * render thread drains finished work, so submitting never decodes on the caller's thread and decoded buffers do
+ * not pile up. A task whose future has been cancelled is dropped as soon as a worker or the render thread
+ * notices it.
+ */
+class TextureDecoder {
+
+    static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final ByteBufferPool bufferPool;
+    private final ThreadPoolExecutor executor;
+    private final Queue<DecodeTask> completed = new ConcurrentLinkedQueue<>();
+
+    // Tasks for the pool submitted while its queue was full, in submission order
+    private final Queue<DecodeTask> waiting = new ConcurrentLinkedQueue<>();
+
+    TextureDecoder(ByteBufferPool bufferPool) {
+        this(bufferPool, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    TextureDecoder(ByteBufferPool bufferPool, int threads, int queueCapacity) {
+        this.bufferPool = bufferPool;
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "d2d2-texture-decoder-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Schedules decoding of the PNG opened by the source. The returned future is completed on the render thread
+     * by {@link #drainCompleted(Consumer)}.
+     */
+    CompletableFuture<Texture> submit(Callable<InputStream> source) {
+        return submit(source, 0);
+    }
+
+    /**
+     * Same as {@link #submit(Callable)} for the image of an existing texture, e.g. an evicted texture uploaded
+     * again; the decoded task carries the texture id.
+     */
+    CompletableFuture<Texture> submit(Callable<InputStream> source, int textureId) {
+        DecodeTask task = new DecodeTask(new CompletableFuture<>(), source);
+        task.textureId = textureId;
+        if (!waiting.isEmpty() || !tryExecute(task)) {
+            waiting.add(task);
+        }
+        return task.future;
+    }
+
+    /**
+     * Same as {@link #submit(Callable)}, decoding on the given executor instead of the decoder's own pool.
+     */
+    CompletableFuture<Texture> submit(Callable<InputStream> source, Executor executor) {
+        DecodeTask task = new DecodeTask(new CompletableFuture<>(), source);
+        executor.execute(() -> run(task));
+        return task.future;
+    }
+
+    private void run(DecodeTask task) {
+        if (task.future.isDone()) return;
+        try {
+            decode(task);
+        } catch (Exception e) {
+            task.error = e;
+        }
+        completed.add(task);
+    }
+
+    private boolean tryExecute(DecodeTask task) {
+        try {
+            executor.execute(() -> run(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Moves waiting tasks to the pool while its queue has room.
+     */
+    private void feedWaiting() {
+        DecodeTask task;
+        while ((task = waiting.peek()) != null) {
+            if (!task.future.isDone() && !tryExecute(task)) return;
+            waiting.poll();
+        }
+    }
+
+    /**
+     * Decodes on the calling thread.
+     */
+    DecodeTask decode(Callable<InputStream> source) throws Exception {
+        DecodeTask task = new DecodeTask(null, source);
+        decode(task);
+        return task;
+    }
+
+    private void decode(DecodeTask task) throws Exception {
+        try (InputStream inputStream = new BufferedInputStream(task.source.call())) {
+            if (isPng(inputStream) && decodePng(inputStream, task)) return;
+        }
+
+        // Not a PNG or a PNG the fast path cannot read; the stream is partly consumed, so open it again
+        try (InputStream inputStream = task.source.call()) {
+            BufferedImage image = ImageIO.read(inputStream);
+            if (image == null) throw new IOException("Unsupported image format");
+            task.width = image.getWidth();
+            task.height = image.getHeight();
+            task.buffer = toRgbaBuffer(image, bufferPool);
+        }
+    }
+
+    private boolean decodePng(InputStream inputStream, DecodeTask task) {
+        ByteBuffer buffer = null;
+        try {
+            PNGDecoder pngDecoder = new PNGDecoder(inputStream);
+            int width = pngDecoder.getWidth();
+            int height = pngDecoder.getHeight();
+            buffer = bufferPool.acquire(width * height * 4);
+            pngDecoder.decode(buffer, width * 4, PNGDecoder.Format.RGBA);
+            buffer.flip();
+
+            task.width = width;
+            task.height = height;
+            task.buffer = buffer;
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            bufferPool.release(buffer);
+            return false;
+        }
+    }
+
+    private static boolean isPng(InputStream inputStream) throws IOException {
+        inputStream.mark(PNG_SIGNATURE.length);
+        byte[] header = inputStream.readNBytes(PNG_SIGNATURE.length);
+        inputStream.reset();
+        return Arrays.equals(header, PNG_SIGNATURE);
+    }
+
+    /**
+     * Hands decoded images to the consumer and passes waiting tasks to the pool; to be called on the render
+     * thread. Cancelled tasks are skipped and their buffers returned to the pool.
+     */
+    void drainCompleted(Consumer<DecodeTask> consumer) {
+        DecodeTask task;
+        while ((task = completed.poll()) != null) {
+            if (task.future.isDone()) {
+                bufferPool.release(task.buffer);
+                continue;
+            }
+            if (task.error != null) {
+                task.future.completeExceptionally(task.error);
+            } else {
+                consumer.accept(task);
+            }
+        }
+        feedWaiting();
+    }
+
+    /**
+     * Converts an image to tightly packed RGBA bytes in a direct buffer ready for {@code glTexImage2D}.
+     */
+    static ByteBuffer toRgbaBuffer(BufferedImage image, ByteBufferPool bufferPool) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        for (int i = 0; i < pixels.length; i++) {
+            int argb = pixels[i];
+            // ARGB to ABGR, which little endian ints store as R, G, B, A bytes
+            pixels[i] = (argb & 0xFF00FF00) | ((argb >> 16) & 0xFF) | ((argb & 0xFF) << 16);
+        }
+
+        ByteBuffer byteBuffer = bufferPool.acquire(width * height * 4);
+        byteBuffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(pixels);
+        return byteBuffer;
+    }
+
+    static final class DecodeTask {
+        final CompletableFuture<Texture> future;
+        final Callable<InputStream> source;
+        // Existing texture the image is decoded for, or 0 for a new texture
+        int textureId;
+        int width;
+        int height;
+        ByteBuffer buffer;
+        Exception error;
+
+        private DecodeTask(CompletableFuture<Texture> future, Callable<InputStream> source) {
+            this.future = future;
+            this.source = source;
+        }
+    }
+}
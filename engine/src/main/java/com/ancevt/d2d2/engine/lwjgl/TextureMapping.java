@@ -18,24 +18,167 @@
 
 package com.ancevt.d2d2.engine.lwjgl;
 
+import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
 
+/**
+ * Engine side of the texture registry: OpenGL texture names indexed directly by texture id (ids are dense, they
+ * come from a counter), and CPU copies of texture pixels for region reads.
+ * <p>
+ * CPU copies are a cache limited by {@link #setImageBudget(long)}: the least recently used ones are dropped when
+ * the budget is exceeded, unless pinned with {@link #setImagePinned(int, boolean)}. A dropped image is created
+ * again on access, from the texture source if it has one or by the given read back function otherwise.
+ */
 class TextureMapping {
-    private final Map<Integer, Integer> ids;
-    private final Map<Integer, BufferedImage> images;
+
+    static final long DEFAULT_IMAGE_BUDGET = 32L * 1024 * 1024;
+
+    private int[] glIds;
+    private final LinkedHashMap<Integer, BufferedImage> images;
+    private final Map<Integer, Callable<InputStream>> imageSources;
+    private final Set<Integer> pinnedImages;
+    private long imageBytes;
+    private long imageBudget = DEFAULT_IMAGE_BUDGET;
 
     public TextureMapping() {
-        ids = new HashMap<>();
-        images = new HashMap<>();
+        glIds = new int[256];
+        images = new LinkedHashMap<>(16, 0.75f, true);
+        imageSources = new HashMap<>();
+        pinnedImages = new HashSet<>();
+    }
+
+    /**
+     * @return OpenGL texture name, or 0 if the texture is not uploaded
+     */
+    public int glId(int textureId) {
+        return textureId >= 0 && textureId < glIds.length ? glIds[textureId] : 0;
+    }
+
+    public void putGlId(int textureId, int glId) {
+        if (textureId >= glIds.length) {
+            glIds = Arrays.copyOf(glIds, Math.max(textureId + 1, glIds.length * 2));
+        }
+        glIds[textureId] = glId;
+    }
+
+    /**
+     * @return OpenGL texture name that was mapped, or 0
+     */
+    public int removeGlId(int textureId) {
+        int glId = glId(textureId);
+        if (glId != 0) glIds[textureId] = 0;
+        return glId;
+    }
+
+    public void putImage(int textureId, BufferedImage image) {
+        BufferedImage previous = images.put(textureId, image);
+        if (previous != null) imageBytes -= bytesOf(previous);
+        imageBytes += bytesOf(image);
+        trimImages();
+    }
+
+    public void putImageSource(int textureId, Callable<InputStream> source) {
+        imageSources.put(textureId, source);
+    }
+
+    /**
+     * @return function reopening the encoded image of the texture, or null if it has none
+     */
+    public Callable<InputStream> imageSource(int textureId) {
+        return imageSources.get(textureId);
+    }
+
+    /**
+     * @return CPU copy of the texture pixels, created from the texture source or the read back function if it is
+     * not cached; null if neither can provide it
+     */
+    public BufferedImage image(int textureId, IntFunction<BufferedImage> readBack) {
+        BufferedImage image = images.get(textureId);
+        if (image != null) return image;
+
+        Callable<InputStream> source = imageSources.get(textureId);
+        if (source != null) {
+            try (InputStream inputStream = source.call()) {
+                image = ImageIO.read(inputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        } else {
+            image = readBack.apply(textureId);
+        }
+
+        if (image != null) putImage(textureId, image);
+        return image;
+    }
+
+    /**
+     * Drops the cached CPU copy after the texture pixels have been changed on the GPU.
+     */
+    public void invalidateImage(int textureId) {
+        BufferedImage image = images.remove(textureId);
+        if (image != null) imageBytes -= bytesOf(image);
+    }
+
+    public void removeImage(int textureId) {
+        BufferedImage image = images.remove(textureId);
+        if (image != null) imageBytes -= bytesOf(image);
+        imageSources.remove(textureId);
+        pinnedImages.remove(textureId);
+    }
+
+    /**
+     * Keeps the CPU copy of the texture regardless of the budget once it exists.
+     */
+    public void setImagePinned(int textureId, boolean pinned) {
+        if (pinned) {
+            pinnedImages.add(textureId);
+        } else {
+            pinnedImages.remove(textureId);
+            trimImages();
+        }
+    }
+
+    public void setImageBudget(long imageBudget) {
+        this.imageBudget = imageBudget;
+        trimImages();
+    }
+
+    public long getImageBudget() {
+        return imageBudget;
+    }
+
+    /**
+     * @return approximate bytes held by CPU copies of texture pixels
+     */
+    public long getImageBytes() {
+        return imageBytes;
     }
 
-    public Map<Integer, Integer> ids() {
-        return ids;
+    private void trimImages() {
+        Iterator<Map.Entry<Integer, BufferedImage>> iterator = images.entrySet().iterator();
+        while (imageBytes > imageBudget && iterator.hasNext()) {
+            Map.Entry<Integer, BufferedImage> entry = iterator.next();
+            if (pinnedImages.contains(entry.getKey())) continue;
+            imageBytes -= bytesOf(entry.getValue());
+            iterator.remove();
+        }
     }
 
-    public Map<Integer, BufferedImage> images() {
-        return images;
+    private static long bytesOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
     }
 }
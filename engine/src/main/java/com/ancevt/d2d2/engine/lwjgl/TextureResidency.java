@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import com.ancevt.d2d2.scene.texture.TextureMemoryStats;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Bookkeeping for the texture memory budget. Tracks the estimated size and the frame of last use of every
+ * uploaded texture by id. When the resident size exceeds the budget, {@link #selectEvictions(IntPredicate)}
+ * picks textures idle for at least {@link #getMinIdleFrames()} frames, least recently used first.
+ */
+class TextureResidency {
+
+    private static final int NOT_RESIDENT = -1;
+    private static final int[] NO_IDS = new int[0];
+
+    private int[] lastUsedFrame = new int[256];
+    private long[] sizes = new long[256];
+    private boolean[] evicted = new boolean[256];
+    // Reused by selectEvictions
+    private long[] candidates = new long[0];
+
+    private int frame;
+    private int residentTextures;
+
+    @Getter
+    private long residentBytes;
+
+    /**
+     * Resident bytes above which idle textures are evicted; unlimited by default
+     */
+    @Getter
+    @Setter
+    private long budget = Long.MAX_VALUE;
+
+    @Getter
+    @Setter
+    private int minIdleFrames = 60;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    TextureResidency() {
+        Arrays.fill(lastUsedFrame, NOT_RESIDENT);
+    }
+
+    void uploaded(int textureId, int width, int height) {
+        ensureCapacity(textureId);
+        if (lastUsedFrame[textureId] == NOT_RESIDENT) residentTextures++;
+        residentBytes -= sizes[textureId];
+        // Base level plus the mipmap chain
+        sizes[textureId] = (long) width * height * 4 * 4 / 3;
+        residentBytes += sizes[textureId];
+        lastUsedFrame[textureId] = frame;
+        if (evicted[textureId]) {
+            evicted[textureId] = false;
+            misses++;
+        }
+    }
+
+    void used(int textureId) {
+        if (textureId < lastUsedFrame.length && lastUsedFrame[textureId] != NOT_RESIDENT) {
+            lastUsedFrame[textureId] = frame;
+            hits++;
+        }
+    }
+
+    /**
+     * Texture deleted from OpenGL. Evicted textures can be uploaded again, the others are gone for good.
+     */
+    void deleted(int textureId, boolean evict) {
+        if (textureId >= lastUsedFrame.length) return;
+        if (lastUsedFrame[textureId] != NOT_RESIDENT) {
+            residentTextures--;
+            residentBytes -= sizes[textureId];
+        }
+        sizes[textureId] = 0;
+        lastUsedFrame[textureId] = NOT_RESIDENT;
+        evicted[textureId] = evict;
+        if (evict) evictions++;
+    }
+
+    boolean isEvicted(int textureId) {
+        return textureId < evicted.length && evicted[textureId];
+    }
+
+    void nextFrame() {
+        frame++;
+    }
+
+    /**
+     * @return ids of textures to evict to get under the budget, least recently used first
+     */
+    int[] selectEvictions(IntPredicate evictable) {
+        if (residentBytes <= budget) return NO_IDS;
+
+        if (candidates.length < residentTextures) candidates = new long[residentTextures];
+
+        // Last used frame in the high bits and id in the low bits, so sorting orders by frame
+        int count = 0;
+        for (int id = 0; id < lastUsedFrame.length && count < residentTextures; id++) {
+            int used = lastUsedFrame[id];
+            if (used != NOT_RESIDENT && frame - used >= minIdleFrames && evictable.test(id)) {
+                candidates[count++] = (long) used << 32 | id;
+            }
+        }
+        if (count == 0) return NO_IDS;
+
+        Arrays.sort(candidates, 0, count);
+
+        long excess = residentBytes - budget;
+        int selected = 0;
+        while (selected < count && excess > 0) {
+            excess -= sizes[(int) candidates[selected++]];
+        }
+        int[] ids = new int[selected];
+        for (int i = 0; i < selected; i++) ids[i] = (int) candidates[i];
+        return ids;
+    }
+
+    TextureMemoryStats getStats() {
+        return new TextureMemoryStats(residentBytes, budget, residentTextures, hits, misses, evictions);
+    }
+
+    private void ensureCapacity(int textureId) {
+        if (textureId < lastUsedFrame.length) return;
+        int length = Math.max(textureId + 1, lastUsedFrame.length * 2);
+        int oldLength = lastUsedFrame.length;
+        lastUsedFrame = Arrays.copyOf(lastUsedFrame, length);
+        Arrays.fill(lastUsedFrame, oldLength, length, NOT_RESIDENT);
+        sizes = Arrays.copyOf(sizes, length);
+        evicted = Arrays.copyOf(evicted, length);
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.engine.lwjgl;
+
+import com.ancevt.d2d2.scene.texture.Texture;
+import lombok.Getter;
+import lombok.Setter;
+import org.lwjgl.opengl.GL;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import static org.lwjgl.opengl.GL11.GL_NEAREST;
+import static org.lwjgl.opengl.GL11.GL_RGBA;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11.GL_UNPACK_ALIGNMENT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glPixelStorei;
+import static org.lwjgl.opengl.GL11.glTexImage2D;
+import static org.lwjgl.opengl.GL11.glTexParameteri;
+import static org.lwjgl.opengl.GL11.glTexSubImage2D;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL21.GL_PIXEL_UNPACK_BUFFER;
+import static org.lwjgl.opengl.GL30.glGenerateMipmap;
+
+/**
+ * Spreads texture uploads over frames. Each call to {@link #process(long, Consumer)} uploads up to the given
+ * number of bytes, in bands of whole rows, so a large texture arrives over several frames instead of stalling
+ * one. Rows are streamed through two alternating pixel buffer objects where the context supports them.
+ * <p>
+ * A texture is handed to the completion callback, and only then becomes drawable, once all its rows and mipmaps
+ * are uploaded.
+ */
+class TextureUploadScheduler {
+
+    static final long DEFAULT_BYTES_PER_FRAME = 16L * 1024 * 1024;
+
+    private final ArrayDeque<Upload> queue = new ArrayDeque<>();
+    private final int[] pixelBuffers = new int[2];
+    private int nextPixelBuffer;
+    private Boolean pixelBuffersSupported;
+
+    @Getter
+    @Setter
+    private long bytesPerFrame = DEFAULT_BYTES_PER_FRAME;
+
+    @Getter
+    private long pendingBytes;
+
+    void add(Texture texture, ByteBuffer byteBuffer, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Texture size must be positive: " + width + "x" + height);
+        }
+        queue.add(new Upload(texture, byteBuffer, width, height));
+        pendingBytes += (long) width * height * 4;
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Uploads rows of queued textures in order until the budget is spent; at least one row is uploaded per call
+     * while anything is queued, so progress is guaranteed with any budget.
+     *
+     * @return bytes uploaded
+     */
+    long process(long budget, Consumer<Upload> completed) {
+        long uploaded = 0;
+
+        while (!queue.isEmpty() && (uploaded == 0 || uploaded < budget)) {
+            Upload upload = queue.peek();
+            int rowBytes = upload.width * 4;
+            int rowsLeft = upload.height - upload.rowsDone;
+            long rowsInBudget = Math.max(1, (budget - uploaded) / rowBytes);
+            int rows = (int) Math.min(rowsLeft, rowsInBudget);
+
+            uploadRows(upload, rows);
+            uploaded += (long) rows * rowBytes;
+            pendingBytes -= (long) rows * rowBytes;
+
+            if (upload.rowsDone == upload.height) {
+                queue.poll();
+                glBindTexture(GL_TEXTURE_2D, upload.glTextureId);
+                glGenerateMipmap(GL_TEXTURE_2D);
+                completed.accept(upload);
+            }
+        }
+        return uploaded;
+    }
+
+    /**
+     * Drops a queued upload, deleting its partially uploaded texture.
+     *
+     * @return the dropped upload, or null if the texture was not queued
+     */
+    Upload cancel(int textureId) {
+        Iterator<Upload> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Upload upload = iterator.next();
+            if (upload.texture.getId() == textureId) {
+                iterator.remove();
+                pendingBytes -= (long) (upload.height - upload.rowsDone) * upload.width * 4;
+                if (upload.glTextureId != 0) glDeleteTextures(upload.glTextureId);
+                return upload;
+            }
+        }
+        return null;
+    }
+
+    private void uploadRows(Upload upload, int rows) {
+        if (upload.glTextureId == 0) {
+            upload.glTextureId = glGenTextures();
+            glBindTexture(GL_TEXTURE_2D, upload.glTextureId);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, upload.width, upload.height, 0, GL_RGBA, GL_UNSIGNED_BYTE,
+                    (ByteBuffer) null);
+        } else {
+            glBindTexture(GL_TEXTURE_2D, upload.glTextureId);
+        }
+
+        int rowBytes = upload.width * 4;
+        ByteBuffer rowsData = upload.byteBuffer.duplicate();
+        rowsData.position(upload.rowsDone * rowBytes);
+        rowsData.limit(rowsData.position() + rows * rowBytes);
+
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        if (isPixelBuffersSupported()) {
+            int index = nextPixelBuffer;
+            nextPixelBuffer = (nextPixelBuffer + 1) % pixelBuffers.length;
+            if (pixelBuffers[index] == 0) pixelBuffers[index] = glGenBuffers();
+
+            glBindBuffer(GL_PIXEL_UNPACK_BUFFER, pixelBuffers[index]);
+            // Respecifying the store orphans the previous one, so the driver does not wait for it
+            glBufferData(GL_PIXEL_UNPACK_BUFFER, rowsData, GL_STREAM_DRAW);
+            glTexSubImage2D(GL_TEXTURE_2D, 0, 0, upload.rowsDone, upload.width, rows, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+            glBindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+        } else {
+            glTexSubImage2D(GL_TEXTURE_2D, 0, 0, upload.rowsDone, upload.width, rows, GL_RGBA, GL_UNSIGNED_BYTE,
+                    rowsData);
+        }
+
+        upload.rowsDone += rows;
+    }
+
+    private boolean isPixelBuffersSupported() {
+        if (pixelBuffersSupported == null) {
+            pixelBuffersSupported = GL.getCapabilities().OpenGL21;
+        }
+        return pixelBuffersSupported;
+    }
+
+    static final class Upload {
+        final Texture texture;
+        final ByteBuffer byteBuffer;
+        final int width;
+        final int height;
+        int glTextureId;
+        int rowsDone;
+
+        private Upload(Texture texture, ByteBuffer byteBuffer, int width, int height) {
+            this.texture = texture;
+            this.byteBuffer = byteBuffer;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ancevt.d2d2;
 
+import com.ancevt.d2d2.asset.AssetPack;
 import com.ancevt.d2d2.asset.Assets;
 import com.ancevt.d2d2.engine.Engine;
 import lombok.Getter;
@@ -20,6 +21,10 @@ public class D2D2Config {
     public static final String FULLSCREEN = "d2d2.fullscreen";
     public static final String ALWAYS_ON_TOP = "d2d2.alwaysontop";
     public static final String BITMAPFONT_SAVEBMF = "d2d2.bitmapfont.savebmf";
+    public static final String BITMAPFONT_CACHE = "d2d2.bitmapfont.cache";
+    public static final String RENDERER_BATCH = "d2d2.renderer.batch";
+    public static final String RENDERER_CULLING = "d2d2.renderer.culling";
+    public static final String ASSETS_PACK = "d2d2.assets.pack";
 
     private final Map<String, String> properties = new HashMap<>();
 
@@ -75,6 +80,29 @@ public class D2D2Config {
         return prop(ALWAYS_ON_TOP, String.valueOf(onTop));
     }
 
+    public D2D2Config batchRendering(boolean batch) {
+        return prop(RENDERER_BATCH, String.valueOf(batch));
+    }
+
+    public D2D2Config culling(boolean culling) {
+        return prop(RENDERER_CULLING, String.valueOf(culling));
+    }
+
+    /**
+     * Serves assets from the pack file, if it exists, before the classpath; see {@link AssetPack}
+     */
+    public D2D2Config assetPack(String packPath) {
+        return prop(ASSETS_PACK, packPath);
+    }
+
+    /**
+     * Sets the directory of compiled fonts generated from TrueType fonts, or {@code off} to generate them on every
+     * start
+     */
+    public D2D2Config bitmapFontCache(String directory) {
+        return prop(BITMAPFONT_CACHE, directory);
+    }
+
     public D2D2Config fromAssets(String propertiesFilename) {
         InputStream inputStream = Assets.getAsset(propertiesFilename).getInputStream();
         try {
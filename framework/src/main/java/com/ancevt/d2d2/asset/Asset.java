@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 
 @RequiredArgsConstructor
 public class Asset implements AutoCloseable {
@@ -11,10 +12,36 @@ public class Asset implements AutoCloseable {
     @Getter
     private final InputStream inputStream;
 
+    /**
+     * Content of assets served from an {@link AssetPack}, null for stream-backed assets
+     */
+    private ByteBuffer buffer;
+
+    public Asset(ByteBuffer buffer) {
+        this.inputStream = new ByteBufferInputStream(buffer.duplicate());
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns the content as a buffer; for assets served from an {@link AssetPack} this is a view of the pack
+     * without copying.
+     */
+    public ByteBuffer getByteBuffer() {
+        if (buffer == null) {
+            buffer = ByteBuffer.wrap(readAllBytes());
+        }
+        return buffer.duplicate();
+    }
+
     /**
      * Reads the entire content as a byte array.
      */
     public byte[] readAllBytes() {
+        if (buffer != null) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return bytes;
+        }
         try {
             return inputStream.readAllBytes();
         } catch (IOException e) {
@@ -46,9 +73,12 @@ public class Asset implements AutoCloseable {
     }
 
     /**
-     * Attempts to get the size of the asset in bytes.
+     * Attempts to get the size of the asset in bytes; exact for assets served from an {@link AssetPack}.
      */
     public long size() {
+        if (buffer != null) {
+            return buffer.remaining();
+        }
         try {
             if (inputStream.available() > 0) {
                 return inputStream.available();
@@ -0,0 +1,252 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.asset;
+
+import com.ancevt.d2d2.exception.AssetException;
+import com.ancevt.d2d2.util.Deflate;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+
+/**
+ * Single-file container of assets, memory-mapped as a whole. Stored entries are served as read-only slices of the
+ * mapping without copying; deflated entries are inflated on access.
+ * <p>
+ * Layout, big endian: magic {@code D2AP}, version, entry count, for each entry the offset and length of its UTF-8
+ * path, data offset (long), stored size, size and compression method, followed by the paths and the entry data.
+ * Packs are built from an asset directory with {@link #pack(Path, Path, boolean)}. A pack is mapped with a single
+ * buffer, so it may not exceed {@link Integer#MAX_VALUE} bytes.
+ */
+public class AssetPack {
+
+    private static final int MAGIC = 0x44324150;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int ENTRY_SIZE = 25;
+
+    private static final byte STORED = 0;
+    private static final byte DEFLATED = 1;
+
+    /**
+     * Extensions of formats that are compressed already and are always stored
+     */
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "ogg", "mp3", "zip");
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Entry> entries;
+
+    private AssetPack(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new AssetException("Not an asset pack: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new AssetException("Unsupported asset pack version " + buffer.getInt(4) + ": " + path);
+        }
+
+        int count = buffer.getInt(8);
+        entries = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            byte[] pathBytes = new byte[buffer.getInt(entry + 4)];
+            buffer.get(buffer.getInt(entry), pathBytes);
+            entries.put(new String(pathBytes, StandardCharsets.UTF_8), new Entry(
+                    buffer.getLong(entry + 8),
+                    buffer.getInt(entry + 16),
+                    buffer.getInt(entry + 20),
+                    buffer.get(entry + 24)
+            ));
+        }
+    }
+
+    public static AssetPack open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new AssetException("Asset pack " + path + " is " + channel.size()
+                        + " bytes, more than the maximum of " + Integer.MAX_VALUE);
+            }
+            return new AssetPack(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new AssetException("Unable to open asset pack " + path, e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean contains(String assetPath) {
+        return entries.containsKey(assetPath);
+    }
+
+    public Set<String> getAssetPaths() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * @return uncompressed size of the entry, or -1 if the pack has no such entry
+     */
+    public int size(String assetPath) {
+        Entry entry = entries.get(assetPath);
+        return entry == null ? -1 : entry.size;
+    }
+
+    /**
+     * Returns the content of the entry: a read-only slice of the mapping for stored entries, an inflated copy for
+     * compressed ones.
+     *
+     * @return the content, or null if the pack has no such entry
+     */
+    public ByteBuffer getBuffer(String assetPath) {
+        Entry entry = entries.get(assetPath);
+        if (entry == null) return null;
+
+        ByteBuffer stored = buffer.slice((int) entry.offset, entry.storedSize).asReadOnlyBuffer();
+        if (entry.method == STORED) return stored;
+
+        try {
+            return Deflate.inflate(stored, entry.size);
+        } catch (DataFormatException e) {
+            throw new AssetException("Corrupt entry " + assetPath + " in " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Packs all files under the directory, keyed by their path relative to it with {@code /} separators. With
+     * {@code compress}, entries are deflated when that makes them smaller, except already compressed formats.
+     */
+    public static void pack(Path directory, Path output, boolean compress) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        List<byte[]> paths = new ArrayList<>(files.size());
+        List<byte[]> data = new ArrayList<>(files.size());
+        List<Integer> sizes = new ArrayList<>(files.size());
+        List<Byte> methods = new ArrayList<>(files.size());
+
+        for (Path file : files) {
+            String assetPath = directory.relativize(file).toString().replace('\\', '/');
+            byte[] bytes = Files.readAllBytes(file);
+            byte[] deflated = compress && !isCompressedFormat(assetPath) ? Deflate.deflate(ByteBuffer.wrap(bytes)) : null;
+
+            paths.add(assetPath.getBytes(StandardCharsets.UTF_8));
+            sizes.add(bytes.length);
+            if (deflated != null && deflated.length < bytes.length) {
+                data.add(deflated);
+                methods.add(DEFLATED);
+            } else {
+                data.add(bytes);
+                methods.add(STORED);
+            }
+        }
+
+        long dataStart = HEADER_SIZE + (long) files.size() * ENTRY_SIZE;
+        for (byte[] pathBytes : paths) {
+            dataStart += pathBytes.length;
+        }
+        long packSize = dataStart;
+        for (byte[] bytes : data) {
+            packSize += bytes.length;
+        }
+        if (packSize > Integer.MAX_VALUE) {
+            throw new AssetException("Assets in " + directory + " need a pack of " + packSize
+                    + " bytes, more than the maximum of " + Integer.MAX_VALUE + "; split them into several packs");
+        }
+
+        try (OutputStream outputStream = Files.newOutputStream(output)) {
+            DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+            dataOutputStream.writeInt(MAGIC);
+            dataOutputStream.writeInt(VERSION);
+            dataOutputStream.writeInt(files.size());
+
+            int pathOffset = HEADER_SIZE + files.size() * ENTRY_SIZE;
+            long dataOffset = dataStart;
+
+            for (int i = 0; i < files.size(); i++) {
+                dataOutputStream.writeInt(pathOffset);
+                dataOutputStream.writeInt(paths.get(i).length);
+                dataOutputStream.writeLong(dataOffset);
+                dataOutputStream.writeInt(data.get(i).length);
+                dataOutputStream.writeInt(sizes.get(i));
+                dataOutputStream.writeByte(methods.get(i));
+                pathOffset += paths.get(i).length;
+                dataOffset += data.get(i).length;
+            }
+            for (byte[] pathBytes : paths) {
+                dataOutputStream.write(pathBytes);
+            }
+            for (byte[] bytes : data) {
+                dataOutputStream.write(bytes);
+            }
+            dataOutputStream.flush();
+        }
+    }
+
+    private static boolean isCompressedFormat(String assetPath) {
+        int dot = assetPath.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(assetPath.substring(dot + 1).toLowerCase());
+    }
+
+    /**
+     * Build-time packer: {@code AssetPack <asset directory> <output file> [--compress]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: AssetPack <asset directory> <output file> [--compress]");
+            System.exit(1);
+        }
+        boolean compress = args.length > 2 && args[2].equals("--compress");
+        pack(Path.of(args[0]), Path.of(args[1]), compress);
+    }
+
+    private static final class Entry {
+        final long offset;
+        final int storedSize;
+        final int size;
+        final byte method;
+
+        private Entry(long offset, int storedSize, int size, byte method) {
+            this.offset = offset;
+            this.storedSize = storedSize;
+            this.size = size;
+            this.method = method;
+        }
+    }
+}
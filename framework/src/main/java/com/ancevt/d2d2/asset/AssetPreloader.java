@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.asset;
+
+import com.ancevt.d2d2.D2D2;
+import com.ancevt.d2d2.event.AssetPreloaderEvent;
+import com.ancevt.d2d2.event.SceneEvent;
+import com.ancevt.d2d2.event.core.EventDispatcherImpl;
+import com.ancevt.d2d2.exception.AssetException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a set of textures, bitmap fonts and sounds concurrently, e.g. behind a loading screen:
+ * <pre>
+ * AssetPreloader preloader = AssetPreloader.fromManifest("preload.txt");
+ * preloader.on(AssetPreloaderEvent.Progress.class, e -> progressBar.setProgress(e.getProgress()));
+ * preloader.on(AssetPreloaderEvent.Complete.class, e -> showMainMenu());
+ * preloader.start();
+ * </pre>
+ * Files are read and images decoded on the preloader's pool; textures and fonts are created on the render thread,
+ * where all events are dispatched too. Sounds are decoded and created on the pool.
+ * <p>
+ * A manifest lists one asset per line, {@code #} starts a comment:
+ * <pre>
+ * texture d2d2-loading.png
+ * font    terminus/Terminus-12.png terminus/Terminus-12.bmf
+ * sound   sound/click.mp3
+ * </pre>
+ */
+public class AssetPreloader extends EventDispatcherImpl {
+
+    private static final int DEFAULT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private final List<Item> items = new ArrayList<>();
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+    private final Queue<Runnable> renderThreadTasks = new ConcurrentLinkedQueue<>();
+
+    private int threads = DEFAULT_THREADS;
+    private ExecutorService executor;
+    private long startTime;
+    private int loaded;
+    private int failed;
+    private boolean started;
+
+    public static AssetPreloader fromManifest(String manifestAssetPath) {
+        AssetPreloader preloader = new AssetPreloader();
+        String manifest;
+        try (Asset asset = Assets.getAsset(manifestAssetPath)) {
+            manifest = asset.readAsString();
+        }
+
+        int lineNumber = 0;
+        for (String line : manifest.lines().toList()) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            line = line.strip();
+            if (line.isEmpty()) continue;
+
+            String[] tokens = line.split("\\s+");
+            switch (tokens[0]) {
+                case "texture" -> {
+                    if (tokens.length != 2) throw malformed(manifestAssetPath, lineNumber, line);
+                    preloader.texture(tokens[1]);
+                }
+                case "font" -> {
+                    if (tokens.length != 3) throw malformed(manifestAssetPath, lineNumber, line);
+                    preloader.bitmapFont(tokens[1], tokens[2]);
+                }
+                case "sound" -> {
+                    if (tokens.length != 2) throw malformed(manifestAssetPath, lineNumber, line);
+                    preloader.sound(tokens[1]);
+                }
+                default -> throw malformed(manifestAssetPath, lineNumber, line);
+            }
+        }
+        return preloader;
+    }
+
+    private static AssetException malformed(String manifestAssetPath, int lineNumber, String line) {
+        return new AssetException("Malformed line " + lineNumber + " in " + manifestAssetPath + ": " + line);
+    }
+
+    public AssetPreloader texture(String assetPath) {
+        return add(new Item(ItemType.TEXTURE, assetPath, null));
+    }
+
+    public AssetPreloader bitmapFont(String pngAssetPath, String bmfAssetPath) {
+        return add(new Item(ItemType.BITMAP_FONT, bmfAssetPath, pngAssetPath));
+    }
+
+    public AssetPreloader sound(String assetPath) {
+        return add(new Item(ItemType.SOUND, assetPath, null));
+    }
+
+    /**
+     * Sets the number of loading threads; defaults to the number of processors less one
+     */
+    public AssetPreloader threads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        checkNotStarted();
+        this.threads = threads;
+        return this;
+    }
+
+    private AssetPreloader add(Item item) {
+        checkNotStarted();
+        items.add(item);
+        return this;
+    }
+
+    private void checkNotStarted() {
+        if (started) throw new IllegalStateException("Preloader is already started");
+    }
+
+    /**
+     * Starts loading. Must be called on the render thread.
+     */
+    public void start() {
+        checkNotStarted();
+        started = true;
+        startTime = System.nanoTime();
+
+        if (items.isEmpty()) {
+            dispatchEvent(AssetPreloaderEvent.Complete.create(0, 0, 0));
+            return;
+        }
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "d2d2-asset-preloader-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        D2D2.root().addEventListener(this, SceneEvent.Tick.class, event -> runRenderThreadTasks());
+
+        Executor renderThread = renderThreadTasks::add;
+        for (Item item : items) {
+            long itemStartTime = System.nanoTime();
+            load(item, renderThread).whenCompleteAsync(
+                    (result, throwable) -> completed(item, System.nanoTime() - itemStartTime, throwable),
+                    renderThread
+            );
+        }
+    }
+
+    private CompletableFuture<?> load(Item item, Executor renderThread) {
+        return switch (item.type) {
+            case TEXTURE -> D2D2.textureManager().loadTextureAsync(item.assetPath, executor);
+            case BITMAP_FONT -> D2D2.bitmapFontManager()
+                    .loadBitmapFontAsync(item.pngAssetPath, item.assetPath, executor, renderThread);
+            case SOUND -> CompletableFuture.supplyAsync(() -> D2D2.soundManager().loadSound(item.assetPath), executor);
+        };
+    }
+
+    private void runRenderThreadTasks() {
+        Runnable task;
+        while ((task = renderThreadTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void completed(Item item, long nanos, Throwable throwable) {
+        timings.put(item.assetPath, nanos);
+        if (throwable == null) {
+            loaded++;
+        } else {
+            failed++;
+            dispatchEvent(AssetPreloaderEvent.Error.create(item.assetPath, throwable));
+        }
+
+        dispatchEvent(AssetPreloaderEvent.Progress.create(item.assetPath, loaded + failed, items.size(), nanos));
+
+        if (isComplete()) {
+            D2D2.root().removeEventListener(this, SceneEvent.Tick.class);
+            executor.shutdown();
+            dispatchEvent(AssetPreloaderEvent.Complete.create(loaded, failed, System.nanoTime() - startTime));
+        }
+    }
+
+    public int getTotalCount() {
+        return items.size();
+    }
+
+    public int getLoadedCount() {
+        return loaded;
+    }
+
+    public int getFailedCount() {
+        return failed;
+    }
+
+    public float getProgress() {
+        return items.isEmpty() ? 1f : (float) (loaded + failed) / items.size();
+    }
+
+    public boolean isComplete() {
+        return started && loaded + failed == items.size();
+    }
+
+    /**
+     * @return load time in nanoseconds of each completed asset, in order of completion; fonts are keyed by their
+     * {@code .bmf} path
+     */
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    private enum ItemType {
+        TEXTURE,
+        BITMAP_FONT,
+        SOUND
+    }
+
+    private static final class Item {
+        final ItemType type;
+        final String assetPath;
+        final String pngAssetPath;
+
+        private Item(ItemType type, String assetPath, String pngAssetPath) {
+            this.type = type;
+            this.assetPath = assetPath;
+            this.pngAssetPath = pngAssetPath;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package com.ancevt.d2d2.asset;
 
 import com.ancevt.d2d2.D2D2;
 import com.ancevt.d2d2.exception.AssetException;
+import com.ancevt.d2d2.lifecycle.D2D2PropertyConstants;
 import com.ancevt.d2d2.scene.text.BitmapFont;
 import com.ancevt.d2d2.scene.texture.Texture;
 import com.ancevt.d2d2.sound.Sound;
@@ -27,19 +28,62 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Assets {
 
     private static final String ASSETS_DIR = "assets/";
 
+    private static final List<AssetPack> packs = new CopyOnWriteArrayList<>();
+
+    private static volatile String defaultPackPath;
+
+    /**
+     * Mounts an asset pack. Assets are looked up in mounted packs, most recently mounted first, before the
+     * classpath. The pack named by the {@code d2d2.assets.pack} property, if it exists, is mounted on first
+     * access.
+     */
+    public static AssetPack mountPack(Path path) {
+        AssetPack pack = AssetPack.open(path);
+        packs.add(0, pack);
+        return pack;
+    }
+
+    public static void unmountPacks() {
+        packs.clear();
+    }
+
     public static Asset getAsset(String assetPath) {
+        String packPath = System.getProperty(D2D2PropertyConstants.D2D2_ASSETS_PACK);
+        if (packPath != null && !packPath.equals(defaultPackPath)) {
+            mountDefaultPack(packPath);
+        }
+        for (AssetPack pack : packs) {
+            ByteBuffer buffer = pack.getBuffer(assetPath);
+            if (buffer != null) return new Asset(buffer);
+        }
+
         final ClassLoader classLoader = Assets.class.getClassLoader();
         InputStream inputStream = classLoader.getResourceAsStream(ASSETS_DIR + assetPath);
         if (inputStream == null) throw new AssetException("resource " + assetPath + " not found");
         return new Asset(inputStream);
     }
 
+    private static synchronized void mountDefaultPack(String packPath) {
+        if (packPath.equals(defaultPackPath)) return;
+        defaultPackPath = packPath;
+
+        // Without the pack, assets are served from the classpath
+        if (Files.isRegularFile(Path.of(packPath))) {
+            mountPack(Path.of(packPath));
+        }
+    }
+
     public static Texture loadTexture(String assetPath) {
         return D2D2.textureManager().loadTexture(assetPath);
     }
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.event;
+
+import com.ancevt.d2d2.event.core.Event;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Events of {@link com.ancevt.d2d2.asset.AssetPreloader}, dispatched on the render thread.
+ */
+public abstract class AssetPreloaderEvent extends Event {
+
+    /**
+     * Dispatched after each asset has been loaded or has failed to load
+     */
+    @AllArgsConstructor(staticName = "create")
+    @Getter
+    public static final class Progress extends AssetPreloaderEvent {
+        private String assetPath;
+        private int completed;
+        private int total;
+        private long nanos;
+
+        public float getProgress() {
+            return total == 0 ? 1f : (float) completed / total;
+        }
+    }
+
+    @AllArgsConstructor(staticName = "create")
+    @Getter
+    public static final class Error extends AssetPreloaderEvent {
+        private String assetPath;
+        private Throwable throwable;
+    }
+
+    @AllArgsConstructor(staticName = "create")
+    @Getter
+    public static final class Complete extends AssetPreloaderEvent {
+        private int loaded;
+        private int failed;
+        private long nanos;
+    }
+}
@@ -37,6 +37,15 @@ public abstract class TextureLoaderEvent extends Event {
         private byte[] bytes;
     }
 
+    /**
+     * Dispatched by the texture manager once a texture has been fully uploaded by the engine and can be drawn
+     */
+    @AllArgsConstructor(staticName = "create")
+    @Getter
+    public static final class UploadComplete extends TextureLoaderEvent {
+        private Texture texture;
+    }
+
     @AllArgsConstructor(staticName = "create")
     @Getter
     public static final class Error extends TextureLoaderEvent {
@@ -34,5 +34,10 @@ public interface EventDispatcher {
 
     <T extends Event> void dispatchEvent(T event);
 
+    /**
+     * @return true if dispatching an event of the given type would reach at least one listener
+     */
+    boolean hasEventListeners(Class<? extends Event> eventType);
+
     <T extends Event> EventLink on(Class<T>  eventType, EventListener<T> listener);
 }
@@ -19,18 +19,31 @@
 package com.ancevt.d2d2.event.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class EventDispatcherImpl implements EventDispatcher {
 
-    private final Map<Class<? extends Event>, List<EventListener<? extends Event>>> listeners = new HashMap<>();
+    private static final ListenerList[] NO_LISTENER_LISTS = new ListenerList[0];
+
+    private final Map<Class<? extends Event>, ListenerList> listeners = new HashMap<>();
     private final Map<Object, List<ListenerBinding<? extends Event>>> bindings = new HashMap<>();
 
+    // Listener lists matching each dispatched event class, exact type first. Dropped whenever the set of
+    // registered event types changes; adding or removing listeners of a known type keeps it valid.
+    private Map<Class<?>, ListenerList[]> dispatchCache;
+
     @Override
     public <T extends Event> void addEventListener(Class<T> eventType, EventListener<T> listener) {
-        listeners.computeIfAbsent(eventType, k -> new ArrayList<>()).add(listener);
+        ListenerList listenerList = listeners.get(eventType);
+        if (listenerList == null) {
+            listenerList = new ListenerList();
+            listeners.put(eventType, listenerList);
+            invalidateDispatchCache();
+        }
+        listenerList.add(listener);
     }
 
     @Override
@@ -42,11 +55,12 @@ public class EventDispatcherImpl implements EventDispatcher {
 
     @Override
     public <T extends Event> void removeEventListener(Class<T> eventType, EventListener<T> listener) {
-        List<EventListener<? extends Event>> eventListeners = listeners.get(eventType);
-        if (eventListeners != null) {
-            eventListeners.remove(listener);
-            if (eventListeners.isEmpty()) {
+        ListenerList listenerList = listeners.get(eventType);
+        if (listenerList != null) {
+            listenerList.remove(listener);
+            if (listenerList.isEmpty()) {
                 listeners.remove(eventType);
+                invalidateDispatchCache();
             }
         }
     }
@@ -78,6 +92,7 @@ public class EventDispatcherImpl implements EventDispatcher {
     public void removeAllEventListeners() {
         listeners.clear();
         bindings.clear();
+        invalidateDispatchCache();
     }
 
     @Override
@@ -96,25 +111,92 @@ public class EventDispatcherImpl implements EventDispatcher {
             event.setTarget(this);
         }
 
-        List<EventListener<? extends Event>> exactListeners = listeners.get(event.getClass());
-        if (exactListeners != null) {
-            for (EventListener<? extends Event> listener : new ArrayList<>(exactListeners)) {
+        if (listeners.isEmpty()) return;
+
+        for (ListenerList listenerList : resolveListenerLists(event.getClass())) {
+            // The array is replaced, never modified, so listeners added or removed by a handler
+            // take effect from the next dispatch
+            EventListener<? extends Event>[] snapshot = listenerList.listeners;
+            for (EventListener<? extends Event> listener : snapshot) {
                 @SuppressWarnings("unchecked")
                 EventListener<T> casted = (EventListener<T>) listener;
                 casted.onEvent(event);
             }
         }
+    }
+
+    @Override
+    public boolean hasEventListeners(Class<? extends Event> eventType) {
+        return !listeners.isEmpty() && resolveListenerLists(eventType).length > 0;
+    }
+
+    /**
+     * Called after the set of event types with registered listeners has changed.
+     */
+    protected void onEventTypesChanged() {
+    }
+
+    private void invalidateDispatchCache() {
+        dispatchCache = null;
+        onEventTypesChanged();
+    }
+
+    private ListenerList[] resolveListenerLists(Class<?> eventClass) {
+        if (dispatchCache == null) {
+            dispatchCache = new HashMap<>();
+        }
+
+        ListenerList[] result = dispatchCache.get(eventClass);
+        if (result != null) return result;
 
-        for (Map.Entry<Class<? extends Event>, List<EventListener<? extends Event>>> entry : new HashMap<>(listeners).entrySet()) {
+        List<ListenerList> matching = new ArrayList<>();
+
+        ListenerList exact = listeners.get(eventClass);
+        if (exact != null) {
+            matching.add(exact);
+        }
+
+        for (Map.Entry<Class<? extends Event>, ListenerList> entry : listeners.entrySet()) {
             Class<? extends Event> type = entry.getKey();
-            if (type.isInstance(event) && !type.equals(event.getClass())) {
-                for (EventListener<? extends Event> listener : new ArrayList<>(entry.getValue())) {
-                    @SuppressWarnings("unchecked")
-                    EventListener<T> casted = (EventListener<T>) listener;
-                    casted.onEvent(event);
+            if (type != eventClass && type.isAssignableFrom(eventClass)) {
+                matching.add(entry.getValue());
+            }
+        }
+
+        result = matching.isEmpty() ? NO_LISTENER_LISTS : matching.toArray(NO_LISTENER_LISTS);
+        dispatchCache.put(eventClass, result);
+        return result;
+    }
+
+    /**
+     * Copy-on-write listener array of one event type.
+     */
+    private static class ListenerList {
+        private static final EventListener<?>[] EMPTY = new EventListener<?>[0];
+
+        @SuppressWarnings("unchecked")
+        EventListener<? extends Event>[] listeners = (EventListener<? extends Event>[]) EMPTY;
+
+        void add(EventListener<? extends Event> listener) {
+            EventListener<? extends Event>[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+            copy[listeners.length] = listener;
+            listeners = copy;
+        }
+
+        void remove(EventListener<?> listener) {
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i].equals(listener)) {
+                    EventListener<? extends Event>[] copy = Arrays.copyOf(listeners, listeners.length - 1);
+                    System.arraycopy(listeners, i + 1, copy, i, listeners.length - i - 1);
+                    listeners = copy;
+                    return;
                 }
             }
         }
+
+        boolean isEmpty() {
+            return listeners.length == 0;
+        }
     }
 
     private static class ListenerBinding<T extends Event> {
@@ -25,4 +25,8 @@ public class D2D2PropertyConstants {
     public static final String D2D2_HEIGHT = "d2d2.height";
     public static final String D2D2_ALWAYS_ON_TOP = "d2d2.alwaysontop";
     public static final String D2D2_BITMAPFONT_SAVEBMF = "d2d2.bitmapfont.savebmf";
+    public static final String D2D2_BITMAPFONT_CACHE = "d2d2.bitmapfont.cache";
+    public static final String D2D2_RENDERER_BATCH = "d2d2.renderer.batch";
+    public static final String D2D2_RENDERER_CULLING = "d2d2.renderer.culling";
+    public static final String D2D2_ASSETS_PACK = "d2d2.assets.pack";
 }
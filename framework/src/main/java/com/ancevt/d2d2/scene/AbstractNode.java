@@ -18,10 +18,22 @@
 
 package com.ancevt.d2d2.scene;
 
+import com.ancevt.d2d2.event.SceneEvent;
 import com.ancevt.d2d2.event.core.EventDispatcherImpl;
 
 public abstract class AbstractNode extends EventDispatcherImpl implements Node {
 
+    private static final ClassValue<Boolean> TICK_OVERRIDDEN = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("tick").getDeclaringClass() != Node.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     private static int displayObjectIdCounter;
     private final int nodeId;
     private String name;
@@ -34,11 +46,29 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     private float rotation;
     private boolean visible = true;
     private int zOrderIndex;
+    private int zIndex;
     private boolean integerPixelAlignmentEnabled = true;
 
+    // Cached global values, see GlobalMetrics. A dirty node always has dirty descendants.
+    private boolean globalsDirty = true;
+    float globalX;
+    float globalY;
+    float globalScaleX;
+    float globalScaleY;
+    float globalAlpha;
+    float globalRotation;
+
+    private final DrawnBounds drawnBounds = new DrawnBounds();
+
+    private boolean tickSubscriber;
+    // Number of tick subscribers in the subtree of this node, itself included
+    private int tickSubscriberCount;
+
     protected AbstractNode() {
         nodeId = displayObjectIdCounter++;
         name = "_" + getClass().getSimpleName() + getNodeId();
+        tickSubscriber = TICK_OVERRIDDEN.get(getClass());
+        tickSubscriberCount = tickSubscriber ? 1 : 0;
     }
 
     @Override
@@ -66,8 +96,107 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
         return zOrderIndex;
     }
 
+    @Override
+    public void setZIndex(int zIndex) {
+        this.zIndex = zIndex;
+        if (parent != null) parent.invalidateRenderCache();
+    }
+
+    @Override
+    public int getZIndex() {
+        return zIndex;
+    }
+
     final void setParent(final BasicGroup container) {
+        if (parent == container) return;
+
+        if (parent != null) {
+            parent.addTickSubscriberCount(-tickSubscriberCount);
+            parent.invalidateDrawnBounds();
+        }
         this.parent = container;
+        if (parent != null) {
+            parent.addTickSubscriberCount(tickSubscriberCount);
+            parent.invalidateDrawnBounds();
+        }
+
+        invalidateGlobals();
+    }
+
+    @Override
+    public DrawnBounds getDrawnBounds() {
+        return drawnBounds;
+    }
+
+    @Override
+    public void invalidateDrawnBounds() {
+        for (AbstractNode node = this; node != null; node = node.parent) {
+            // A node invalidated along with its ancestors keeps them invalid until the renderer validates anything,
+            // so repeated changes below it stop there
+            if (node.drawnBounds.isInvalidWithAncestors()
+                    && !(node instanceof BasicGroup group && group.textureCacheValid)) {
+                break;
+            }
+            node.drawnBounds.invalidateWithAncestors();
+            if (node instanceof BasicGroup group) group.textureCacheValid = false;
+        }
+    }
+
+    @Override
+    public void invalidateRenderCache() {
+        for (AbstractNode node = this; node != null; node = node.parent) {
+            if (node instanceof BasicGroup group) group.textureCacheValid = false;
+        }
+    }
+
+    private void transformChanged() {
+        invalidateGlobals();
+        if (parent != null) parent.invalidateDrawnBounds();
+    }
+
+    /**
+     * Called when the cached global values of this node become stale because the node or one of its ancestors
+     * has moved, changed scale, rotation or alpha, or has been reparented.
+     */
+    protected void onGlobalsInvalidated() {
+    }
+
+    @Override
+    public boolean hasTickSubscribers() {
+        return tickSubscriberCount > 0;
+    }
+
+    @Override
+    protected void onEventTypesChanged() {
+        boolean value = TICK_OVERRIDDEN.get(getClass()) || hasEventListeners(SceneEvent.Tick.class);
+        if (value == tickSubscriber) return;
+
+        tickSubscriber = value;
+        addTickSubscriberCount(value ? 1 : -1);
+    }
+
+    final void addTickSubscriberCount(int delta) {
+        for (AbstractNode node = this; node != null; node = node.parent) {
+            node.tickSubscriberCount += delta;
+        }
+    }
+
+    final void validateGlobals() {
+        if (!globalsDirty) return;
+        GlobalMetrics.update(this);
+        globalsDirty = false;
+    }
+
+    final void invalidateGlobals() {
+        if (globalsDirty) return;
+        globalsDirty = true;
+        onGlobalsInvalidated();
+
+        if (this instanceof BasicGroup group) {
+            for (Node child : group.children) {
+                if (child instanceof AbstractNode node) node.invalidateGlobals();
+            }
+        }
     }
 
     @Override
@@ -89,6 +218,7 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void setX(float value) {
         this.x = value;
+        transformChanged();
     }
 
     @Override
@@ -99,6 +229,7 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void setY(float value) {
         this.y = value;
+        transformChanged();
     }
 
     @Override
@@ -115,6 +246,7 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void setScaleX(float value) {
         this.scaleX = value;
+        transformChanged();
     }
 
     @Override
@@ -125,6 +257,7 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void setScaleY(float value) {
         this.scaleY = value;
+        transformChanged();
     }
 
     @Override
@@ -147,6 +280,7 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void setVisible(boolean value) {
         this.visible = value;
+        if (parent != null) parent.invalidateDrawnBounds();
     }
 
     @Override
@@ -157,6 +291,7 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void setRotation(float degrees) {
         rotation = degrees;
+        transformChanged();
     }
 
     @Override
@@ -167,6 +302,7 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void rotate(float toRotation) {
         rotation += toRotation;
+        transformChanged();
     }
 
     @Override
@@ -223,32 +359,38 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
 
     @Override
     public float getGlobalX() {
-        return GlobalMetrics.getGlobalX(this);
+        validateGlobals();
+        return globalX;
     }
 
     @Override
     public float getGlobalY() {
-        return GlobalMetrics.getGlobalY(this);
+        validateGlobals();
+        return globalY;
     }
 
     @Override
     public float getGlobalScaleX() {
-        return GlobalMetrics.getGlobalScaleX(this);
+        validateGlobals();
+        return globalScaleX;
     }
 
     @Override
     public float getGlobalScaleY() {
-        return GlobalMetrics.getGlobalScaleY(this);
+        validateGlobals();
+        return globalScaleY;
     }
 
     @Override
     public float getGlobalAlpha() {
-        return GlobalMetrics.getGlobalAlpha(this);
+        validateGlobals();
+        return globalAlpha;
     }
 
     @Override
     public float getGlobalRotation() {
-        return GlobalMetrics.getGlobalRotation(this);
+        validateGlobals();
+        return globalRotation;
     }
 
     @Override
@@ -266,6 +408,8 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void setAlpha(float value) {
         this.alpha = value;
+        invalidateGlobals();
+        if (parent != null) parent.invalidateRenderCache();
     }
 
     @Override
@@ -276,6 +420,8 @@ public abstract class AbstractNode extends EventDispatcherImpl implements Node {
     @Override
     public void toAlpha(float value) {
         alpha *= value;
+        invalidateGlobals();
+        if (parent != null) parent.invalidateRenderCache();
     }
 
     @Override
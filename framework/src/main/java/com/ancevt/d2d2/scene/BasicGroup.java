@@ -20,7 +20,11 @@ package com.ancevt.d2d2.scene;
 
 import com.ancevt.d2d2.event.SceneEvent;
 import com.ancevt.d2d2.exception.ContainerException;
+import com.ancevt.d2d2.scene.text.BitmapText;
+import com.ancevt.d2d2.scene.texture.TextureRegion;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
@@ -32,6 +36,18 @@ public class BasicGroup extends AbstractNode implements Group {
 
     final List<Node> children;
 
+    private static final Node[] NO_NODES = new Node[0];
+
+    private boolean cullingEnabled = true;
+    private boolean cacheAsTexture;
+    boolean textureCacheValid;
+
+    private boolean layerMode;
+    private boolean layerOrderDirty = true;
+    private Node[] layerOrder = NO_NODES;
+    private int[] layerZIndices = new int[0];
+    private int[] layerTextureKeys = new int[0];
+
     public BasicGroup() {
         children = new CopyOnWriteArrayList<>();
         setName("_" + getClass().getSimpleName() + getNodeId());
@@ -51,11 +67,14 @@ public class BasicGroup extends AbstractNode implements Group {
         child.dispatchEvent(SceneEvent.Add.create(this));
 
         children.remove(child);
+        layerOrderDirty = true;
         if (index != -1) {
             children.add(index, child);
         } else {
             children.add(child);
         }
+        // Re-adding a child only reorders it, which setParent() does not see, but cached groups draw in child order
+        invalidateDrawnBounds();
 
         if (placeBy != null) {
             placeBy(child, placeBy);
@@ -114,6 +133,105 @@ public class BasicGroup extends AbstractNode implements Group {
         if (child instanceof AbstractNode d) d.setParent(null);
         child.dispatchEvent(SceneEvent.Remove.create(this));
         children.remove(child);
+        layerOrderDirty = true;
+    }
+
+    @Override
+    public void setCullingEnabled(boolean cullingEnabled) {
+        this.cullingEnabled = cullingEnabled;
+    }
+
+    @Override
+    public boolean isCullingEnabled() {
+        return cullingEnabled;
+    }
+
+    @Override
+    public void setCacheAsTexture(boolean cacheAsTexture) {
+        this.cacheAsTexture = cacheAsTexture;
+        textureCacheValid = false;
+    }
+
+    @Override
+    public boolean isCacheAsTexture() {
+        return cacheAsTexture;
+    }
+
+    @Override
+    public boolean isTextureCacheValid() {
+        return textureCacheValid;
+    }
+
+    @Override
+    public void setTextureCacheValid(boolean textureCacheValid) {
+        this.textureCacheValid = textureCacheValid;
+        if (textureCacheValid) DrawnBounds.textureCacheValidated();
+    }
+
+    @Override
+    public void setLayerMode(boolean layerMode) {
+        this.layerMode = layerMode;
+        layerOrderDirty = true;
+        textureCacheValid = false;
+    }
+
+    @Override
+    public boolean isLayerMode() {
+        return layerMode;
+    }
+
+    @Override
+    public Node[] getLayerOrder() {
+        if (!layerOrderDirty) {
+            // Keys may change without the group knowing (z-index, texture region), so verify them in place
+            for (int i = 0; i < layerOrder.length; i++) {
+                Node node = layerOrder[i];
+                if (node.getZIndex() != layerZIndices[i] || textureKeyOf(node) != layerTextureKeys[i]) {
+                    layerOrderDirty = true;
+                    break;
+                }
+            }
+        }
+
+        if (layerOrderDirty) {
+            rebuildLayerOrder();
+            layerOrderDirty = false;
+        }
+
+        return layerOrder;
+    }
+
+    private void rebuildLayerOrder() {
+        Node[] order = children.toArray(NO_NODES);
+        // Stable sort, children with equal keys keep their child order
+        Arrays.sort(order, Comparator.comparingInt(Node::getZIndex).thenComparingInt(BasicGroup::textureKeyOf));
+
+        int size = order.length;
+        if (layerZIndices.length != size) {
+            layerZIndices = new int[size];
+            layerTextureKeys = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            layerZIndices[i] = order[i].getZIndex();
+            layerTextureKeys[i] = textureKeyOf(order[i]);
+        }
+        layerOrder = order;
+    }
+
+    private static int textureKeyOf(Node node) {
+        TextureRegion textureRegion = null;
+
+        if (node instanceof Sprite sprite) {
+            textureRegion = sprite.getTextureRegion();
+        } else if (node instanceof BitmapText bitmapText) {
+            if (bitmapText.isCacheAsSprite() && bitmapText.cachedSprite() != null) {
+                textureRegion = bitmapText.cachedSprite().getTextureRegion();
+            } else if (bitmapText.getBitmapFont() != null) {
+                return bitmapText.getBitmapFont().getTexture().getId();
+            }
+        }
+
+        return textureRegion == null ? 0 : textureRegion.getTexture().getId();
     }
 
     @Override
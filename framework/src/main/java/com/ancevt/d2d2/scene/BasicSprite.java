@@ -39,6 +39,7 @@ public class BasicSprite extends AbstractNode implements Sprite {
     @Override
     public void setColor(Color color) {
         this.color = color;
+        invalidateRenderCache();
     }
 
     @Override
@@ -60,11 +61,13 @@ public class BasicSprite extends AbstractNode implements Sprite {
     @Override
     public void setRepeatX(float value) {
         this.repeatX = value;
+        invalidateDrawnBounds();
     }
 
     @Override
     public void setRepeatY(float value) {
         this.repeatY = value;
+        invalidateDrawnBounds();
     }
 
     @Override
@@ -85,6 +88,7 @@ public class BasicSprite extends AbstractNode implements Sprite {
     @Override
     public void setTextureRegion(TextureRegion value) {
         this.textureRegion = value;
+        invalidateDrawnBounds();
         if (textureRegion != null && textureRegion.getTexture().isDisposed()) {
             throw new IllegalStateException("Texture " + textureRegion.getTexture().getId() + " is disposed");
         }
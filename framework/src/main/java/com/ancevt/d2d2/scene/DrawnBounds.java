@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene;
+
+/**
+ * Local-space bounds of what the renderer drew for a node and its descendants, kept by the renderer for
+ * culling. Invalidated by the node whenever it or something below it changes shape, size or placement.
+ */
+public final class DrawnBounds {
+
+    // Number of times the renderer validated bounds or a texture cache, see AbstractNode#invalidateDrawnBounds()
+    private static long validationCount;
+
+    private boolean valid;
+    private long invalidatedAt = -1;
+    private float minX;
+    private float minY;
+    private float maxX;
+    private float maxY;
+    private int nodeCount;
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void set(float minX, float minY, float maxX, float maxY, int nodeCount) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.nodeCount = nodeCount;
+        valid = true;
+        validationCount++;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Invalidates the bounds as part of invalidating a node and all its ancestors.
+     */
+    void invalidateWithAncestors() {
+        valid = false;
+        invalidatedAt = validationCount;
+    }
+
+    /**
+     * @return true if the node and all its ancestors were invalidated and nothing was validated since
+     */
+    boolean isInvalidWithAncestors() {
+        return !valid && invalidatedAt == validationCount;
+    }
+
+    static void textureCacheValidated() {
+        validationCount++;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * @return number of nodes, this one included, drawn when the bounds were taken
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
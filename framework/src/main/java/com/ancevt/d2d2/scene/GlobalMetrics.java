@@ -24,58 +24,31 @@ final class GlobalMetrics {
     private GlobalMetrics() {
     }
 
-    private static float computeGlobalValue(AbstractNode node, java.util.function.BiFunction<Group, Float, Float> accumulator) {
-        float result = accumulator.apply(null, 0f);
+    /**
+     * Recomputes the cached global values of the node from the cached values of its parent. Nodes whose parent
+     * is the {@link Root} (or that have no parent) use their own local values, so the root transform is not
+     * included, same as before caching.
+     */
+    static void update(AbstractNode node) {
         Group parent = node.getParent();
 
-        while (parent != null && !(parent instanceof Root)) {
-            result = accumulator.apply(parent, result);
-            parent = parent.getParent();
+        if (parent instanceof AbstractNode p && !(parent instanceof Root)) {
+            p.validateGlobals();
+
+            node.globalX = node.getX() * p.globalScaleX + p.globalX;
+            node.globalY = node.getY() * p.globalScaleY + p.globalY;
+            node.globalScaleX = node.getScaleX() * p.globalScaleX;
+            node.globalScaleY = node.getScaleY() * p.globalScaleY;
+            node.globalAlpha = node.getAlpha() * p.globalAlpha;
+            node.globalRotation = node.getRotation() + p.globalRotation;
+        } else {
+            node.globalX = node.getX();
+            node.globalY = node.getY();
+            node.globalScaleX = node.getScaleX();
+            node.globalScaleY = node.getScaleY();
+            node.globalAlpha = node.getAlpha();
+            node.globalRotation = node.getRotation();
         }
-
-        return result;
-    }
-
-    static float getGlobalX(AbstractNode node) {
-        return computeGlobalValue(node, (parent, acc) -> {
-            if (parent == null) return node.getX();
-            return acc * parent.getScaleX() + parent.getX();
-        });
-    }
-
-    static float getGlobalY(AbstractNode node) {
-        return computeGlobalValue(node, (parent, acc) -> {
-            if (parent == null) return node.getY();
-            return acc * parent.getScaleY() + parent.getY();
-        });
-    }
-
-    static float getGlobalScaleX(AbstractNode node) {
-        return computeGlobalValue(node, (parent, acc) -> {
-            if (parent == null) return node.getScaleX();
-            return acc * parent.getScaleX();
-        });
-    }
-
-    static float getGlobalScaleY(AbstractNode node) {
-        return computeGlobalValue(node, (parent, acc) -> {
-            if (parent == null) return node.getScaleY();
-            return acc * parent.getScaleY();
-        });
-    }
-
-    static float getGlobalAlpha(AbstractNode node) {
-        return computeGlobalValue(node, (parent, acc) -> {
-            if (parent == null) return node.getAlpha();
-            return acc * parent.getAlpha();
-        });
-    }
-
-    static float getGlobalRotation(AbstractNode node) {
-        return computeGlobalValue(node, (parent, acc) -> {
-            if (parent == null) return node.getRotation();
-            return acc + parent.getRotation();
-        });
     }
 
     public static boolean isGloballyVisible(AbstractNode node) {
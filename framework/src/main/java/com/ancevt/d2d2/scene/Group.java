@@ -64,6 +64,49 @@ public interface Group extends Node {
 
     void addChild(Node child);
 
+    /**
+     * Allows the renderer to skip this group and its children when they are outside the viewport. Disable for
+     * groups whose content changes in ways the drawn bounds do not track.
+     */
+    void setCullingEnabled(boolean cullingEnabled);
+
+    boolean isCullingEnabled();
+
+    /**
+     * Renders the children once into an offscreen texture and then draws that texture instead of the subtree until
+     * something below the group changes. Suits large static subtrees such as backgrounds or panels. While the
+     * cached texture is reused the children are not drawn, but they still receive {@code PreFrame} and
+     * {@code PostFrame} events, animation frames and their global z-order. Changes the built-in nodes cannot see,
+     * like mutating a {@code Color} instance in place, need an explicit {@link Node#invalidateRenderCache()}.
+     */
+    void setCacheAsTexture(boolean cacheAsTexture);
+
+    boolean isCacheAsTexture();
+
+    /**
+     * @return true if the texture cache of this group still matches its children
+     */
+    boolean isTextureCacheValid();
+
+    /**
+     * Used by the renderer to mark the texture cache as up to date after rendering it.
+     */
+    void setTextureCacheValid(boolean textureCacheValid);
+
+    /**
+     * In layer mode children are drawn ordered by {@link Node#getZIndex()} and, within the same z-index, grouped
+     * by texture so they batch into fewer draw calls. Children with equal z-index and texture keep their child
+     * order, so the result is deterministic. {@link Node#getGlobalZOrderIndex()} follows the drawn order.
+     */
+    void setLayerMode(boolean layerMode);
+
+    boolean isLayerMode();
+
+    /**
+     * @return children in draw order; the returned array must not be modified
+     */
+    Node[] getLayerOrder();
+
     void addChild(Node child, int index);
 
     void addChild(Node child, float x, float y);
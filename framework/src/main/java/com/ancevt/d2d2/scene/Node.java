@@ -142,6 +142,13 @@ public interface Node extends EventDispatcher {
 
     int getGlobalZOrderIndex();
 
+    /**
+     * Draw order of the node among its siblings when the parent group is in layer mode, lower first.
+     */
+    void setZIndex(int zIndex);
+
+    int getZIndex();
+
     void removeFromParent();
 
     void setIntegerPixelAlignmentEnabled(boolean value);
@@ -157,6 +164,35 @@ public interface Node extends EventDispatcher {
     default void tick() {
     }
 
+    /**
+     * @return true if this node or one of its descendants handles {@link SceneEvent.Tick}, either by a listener
+     * or by overriding {@link #tick()}. The update loop skips subtrees for which this is false.
+     */
+    default boolean hasTickSubscribers() {
+        return true;
+    }
+
+    /**
+     * @return bounds drawn for this node last time it was rendered, or null if the node does not keep them
+     */
+    default DrawnBounds getDrawnBounds() {
+        return null;
+    }
+
+    /**
+     * Drops the drawn bounds of this node and its ancestors. Called by the built-in nodes on changes that affect
+     * what they draw; custom nodes and code mutating shape vertices directly should call it as well.
+     */
+    default void invalidateDrawnBounds() {
+    }
+
+    /**
+     * Drops texture caches of the groups containing this node. Called by the built-in nodes on changes that alter
+     * their appearance without affecting the drawn bounds, such as color or alpha.
+     */
+    default void invalidateRenderCache() {
+    }
+
     @SuppressWarnings("unchecked")
     default EventLink<SceneEvent.Tick> tick(EventListener<SceneEvent.Tick> listener) {
         return (EventLink<SceneEvent.Tick>) on(SceneEvent.Tick.class, listener);
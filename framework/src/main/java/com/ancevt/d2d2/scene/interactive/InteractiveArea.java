@@ -20,12 +20,14 @@ package com.ancevt.d2d2.scene.interactive;
 
 public class InteractiveArea {
 
+    private final Interactive owner;
     private float x;
     private float y;
     private float width;
     private float height;
 
-    InteractiveArea(final float x, final float y, final float width, final float height) {
+    InteractiveArea(final Interactive owner, final float x, final float y, final float width, final float height) {
+        this.owner = owner;
         setUp(x, y, width, height);
     }
 
@@ -34,6 +36,7 @@ public class InteractiveArea {
         this.y = y;
         this.width = width;
         this.height = height;
+        boundsChanged();
     }
 
     public float getX() {
@@ -42,6 +45,7 @@ public class InteractiveArea {
 
     public void setX(float x) {
         this.x = x;
+        boundsChanged();
     }
 
     public float getY() {
@@ -50,6 +54,7 @@ public class InteractiveArea {
 
     public void setY(float y) {
         this.y = y;
+        boundsChanged();
     }
 
     public float getWidth() {
@@ -58,6 +63,7 @@ public class InteractiveArea {
 
     public void setWidth(float width) {
         this.width = width;
+        boundsChanged();
     }
 
     public float getHeight() {
@@ -66,6 +72,11 @@ public class InteractiveArea {
 
     public void setHeight(float height) {
         this.height = height;
+        boundsChanged();
+    }
+
+    private void boundsChanged() {
+        InteractiveManager.getInstance().invalidateBounds(owner);
     }
 
     @Override
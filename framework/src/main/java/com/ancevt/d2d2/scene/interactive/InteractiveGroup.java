@@ -43,7 +43,7 @@ public class InteractiveGroup extends BasicGroup implements Interactive {
     }
 
     private InteractiveGroup(float width, float height) {
-        interactiveArea = new InteractiveArea(0, 0, width, height);
+        interactiveArea = new InteractiveArea(this, 0, 0, width, height);
         setName("_" + getClass().getSimpleName() + getNodeId());
         enabled = true;
         pushEventsUp = true;
@@ -61,6 +61,12 @@ public class InteractiveGroup extends BasicGroup implements Interactive {
     @Override
     public void setInteractiveFreeShape(FreeShape interactiveFreeShape) {
         this.interactiveFreeShape = interactiveFreeShape;
+        InteractiveManager.getInstance().invalidateBounds(this);
+    }
+
+    @Override
+    protected void onGlobalsInvalidated() {
+        InteractiveManager.getInstance().invalidateBounds(this);
     }
 
     @Override
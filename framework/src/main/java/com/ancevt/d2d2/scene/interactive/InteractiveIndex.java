@@ -0,0 +1,250 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.interactive;
+
+import com.ancevt.d2d2.scene.shape.FreeShape;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid over the global bounds of registered interactives. Bounds are recomputed lazily, only for
+ * interactives reported stale through {@link #invalidate(Interactive)}, and queries return a superset of the
+ * interactives under a point which the caller still tests exactly. Cells keep their entries in registration
+ * order, so a query merges them without sorting.
+ */
+final class InteractiveIndex {
+
+    private static final int CELL_SIZE = 128;
+    private static final int MAX_CELLS_PER_ENTRY = 256;
+
+    private final Map<Interactive, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+
+    // Interactives with a free shape or huge bounds, tested on every query
+    private final List<Entry> unbounded = new ArrayList<>();
+    private final List<Entry> stale = new ArrayList<>();
+
+    // Reused by queries
+    private final List<Entry> found = new ArrayList<>();
+    private final List<Interactive> result = new ArrayList<>();
+
+    private int orderCounter;
+    private int queryStamp;
+
+    boolean contains(Interactive interactive) {
+        return entries.containsKey(interactive);
+    }
+
+    void add(Interactive interactive) {
+        if (entries.containsKey(interactive)) return;
+
+        Entry entry = new Entry(interactive, orderCounter++);
+        entries.put(interactive, entry);
+        markStale(entry);
+    }
+
+    void remove(Interactive interactive) {
+        Entry entry = entries.remove(interactive);
+        if (entry == null) return;
+
+        unlink(entry);
+        if (entry.stale) stale.remove(entry);
+    }
+
+    void clear() {
+        entries.clear();
+        cells.clear();
+        unbounded.clear();
+        stale.clear();
+        found.clear();
+        result.clear();
+    }
+
+    void invalidate(Interactive interactive) {
+        Entry entry = entries.get(interactive);
+        if (entry != null) markStale(entry);
+    }
+
+    /**
+     * @param extra interactives to include regardless of their position, e.g. the dragged ones
+     * @return candidates under the point together with {@code extra}, in registration order; the list is owned by
+     * the index and valid until the next query
+     */
+    List<Interactive> query(float x, float y, Collection<Interactive> extra) {
+        refreshStale();
+
+        queryStamp++;
+        found.clear();
+
+        // An entry is either in cells or unbounded, so merging the two yields no duplicates
+        List<Entry> cell = cells.get(key(cell(x), cell(y)));
+        int cellSize = cell != null ? cell.size() : 0;
+        int unboundedSize = unbounded.size();
+        int i = 0;
+        int j = 0;
+        while (i < cellSize || j < unboundedSize) {
+            Entry entry = j == unboundedSize || i < cellSize && cell.get(i).order < unbounded.get(j).order
+                    ? cell.get(i++)
+                    : unbounded.get(j++);
+            entry.stamp = queryStamp;
+            found.add(entry);
+        }
+
+        for (Interactive interactive : extra) {
+            Entry entry = entries.get(interactive);
+            if (entry != null && entry.stamp != queryStamp) {
+                entry.stamp = queryStamp;
+                insertByOrder(found, entry);
+            }
+        }
+
+        result.clear();
+        for (int k = 0; k < found.size(); k++) {
+            result.add(found.get(k).interactive);
+        }
+        return result;
+    }
+
+    private static void insertByOrder(List<Entry> list, Entry entry) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (list.get(middle).order < entry.order) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        list.add(low, entry);
+    }
+
+    private void markStale(Entry entry) {
+        if (entry.stale) return;
+        entry.stale = true;
+        stale.add(entry);
+    }
+
+    private void refreshStale() {
+        for (Entry entry : stale) {
+            entry.stale = false;
+            unlink(entry);
+            link(entry);
+        }
+        stale.clear();
+    }
+
+    private void link(Entry entry) {
+        Interactive interactive = entry.interactive;
+        FreeShape freeShape = interactive.getInteractiveFreeShape();
+
+        float x = interactive.getGlobalX();
+        float y = interactive.getGlobalY();
+        float w = interactive.getInteractiveArea().getWidth() * interactive.getGlobalScaleX();
+        float h = interactive.getInteractiveArea().getHeight() * interactive.getGlobalScaleY();
+
+        float minX = Math.min(x, x + w);
+        float maxX = Math.max(x, x + w);
+        float minY = Math.min(y, y + h);
+        float maxY = Math.max(y, y + h);
+
+        if (freeShape != null || !Float.isFinite(minX + maxX + minY + maxY)) {
+            linkUnbounded(entry);
+            return;
+        }
+
+        entry.minCellX = cell(minX);
+        entry.minCellY = cell(minY);
+        entry.maxCellX = cell(maxX);
+        entry.maxCellY = cell(maxY);
+
+        long cellCount = (long) (entry.maxCellX - entry.minCellX + 1) * (entry.maxCellY - entry.minCellY + 1);
+        if (cellCount > MAX_CELLS_PER_ENTRY) {
+            linkUnbounded(entry);
+            return;
+        }
+
+        for (int cy = entry.minCellY; cy <= entry.maxCellY; cy++) {
+            for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+                insertByOrder(cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()), entry);
+            }
+        }
+        entry.linked = true;
+    }
+
+    private void linkUnbounded(Entry entry) {
+        insertByOrder(unbounded, entry);
+        entry.unbounded = true;
+        entry.linked = true;
+    }
+
+    private void unlink(Entry entry) {
+        if (!entry.linked) return;
+        entry.linked = false;
+
+        if (entry.unbounded) {
+            unbounded.remove(entry);
+            entry.unbounded = false;
+            return;
+        }
+
+        for (int cy = entry.minCellY; cy <= entry.maxCellY; cy++) {
+            for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+                Long key = key(cx, cy);
+                List<Entry> cell = cells.get(key);
+                if (cell != null) {
+                    cell.remove(entry);
+                    if (cell.isEmpty()) cells.remove(key);
+                }
+            }
+        }
+    }
+
+    private static int cell(float value) {
+        return (int) Math.floor(value / CELL_SIZE);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static final class Entry {
+        final Interactive interactive;
+        final int order;
+
+        int minCellX;
+        int minCellY;
+        int maxCellX;
+        int maxCellY;
+
+        boolean linked;
+        boolean unbounded;
+        boolean stale;
+        int stamp;
+
+        Entry(Interactive interactive, int order) {
+            this.interactive = interactive;
+            this.order = order;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.ancevt.d2d2.input.KeyCode;
 import com.ancevt.d2d2.input.MouseButton;
 import com.ancevt.d2d2.scene.shape.FreeShape;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -37,6 +38,9 @@ public class InteractiveManager {
     }
 
     private final List<Interactive> interactiveList;
+    private final InteractiveIndex interactiveIndex;
+    // Dragged or hovered interactives, which get drag and out events wherever the pointer is
+    private final List<Interactive> activeList;
     private static final int KEY_HOLD_TIME = 30;
 
     private boolean leftMouseButton;
@@ -55,6 +59,8 @@ public class InteractiveManager {
 
     private InteractiveManager() {
         interactiveList = new CopyOnWriteArrayList<>();
+        interactiveIndex = new InteractiveIndex();
+        activeList = new ArrayList<>();
         focusedInteractiveIndex = -1;
 
         D2D2.root().addEventListener(InputEvent.KeyDown.class, e -> {
@@ -135,18 +141,21 @@ public class InteractiveManager {
 
 
     public void registerInteractive(final Interactive interactive) {
-        if (!interactiveList.contains(interactive)) {
+        if (!interactiveIndex.contains(interactive)) {
             interactive.addEventListener(this, SceneEvent.RemoveFromScene.class, e -> {
                 if (interactive.isFocused()) {
                     resetFocus();
                 }
             });
             interactiveList.add(interactive);
+            interactiveIndex.add(interactive);
         }
     }
 
     public final void unregisterInteractive(final Interactive interactive) {
         interactiveList.remove(interactive);
+        interactiveIndex.remove(interactive);
+        activeList.remove(interactive);
         interactive.removeEventListener(this, SceneEvent.RemoveFromScene.class);
     }
 
@@ -154,6 +163,25 @@ public class InteractiveManager {
         while (!interactiveList.isEmpty()) {
             interactiveList.remove(0);
         }
+        interactiveIndex.clear();
+        activeList.clear();
+    }
+
+    /**
+     * Marks the global bounds of the interactive as changed, so the hit-test index picks them up on the next
+     * pointer event.
+     */
+    final void invalidateBounds(Interactive interactive) {
+        if (interactive != null) interactiveIndex.invalidate(interactive);
+    }
+
+    private List<Interactive> candidatesAt(int x, int y) {
+        activeList.removeIf(interactive -> !interactive.isDragging() && !interactive.isHovering());
+        return interactiveIndex.query(x, y, activeList);
+    }
+
+    private void setActive(Interactive interactive) {
+        if (!activeList.contains(interactive)) activeList.add(interactive);
     }
 
     public final void screenTouch(final int x,
@@ -175,7 +203,7 @@ public class InteractiveManager {
             int maxIndex = 0;
             float _tcX = 0.0f, _tcY = 0.0f;
 
-            for (Interactive interactive : interactiveList) {
+            for (Interactive interactive : candidatesAt(x, y)) {
                 if (interactive.getInteractiveFreeShape() != null) {
                     FreeShape freeShape = interactive.getInteractiveFreeShape();
                     int index = interactive.getGlobalZOrderIndex();
@@ -221,10 +249,11 @@ public class InteractiveManager {
                 ));
 
                 pressedInteractive.setDragging(true);
+                setActive(pressedInteractive);
             }
 
         } else {
-            for (Interactive interactive : interactiveList) {
+            for (Interactive interactive : candidatesAt(x, y)) {
                 if (interactive != null && interactive.isOnScreen()) {
                     final float tcX = interactive.getGlobalX();
                     final float tcY = interactive.getGlobalY();
@@ -266,7 +295,7 @@ public class InteractiveManager {
         int maxIndex = 0;
         Interactive upperInteractive = null;
 
-        for (final Interactive interactive : interactiveList) {
+        for (final Interactive interactive : candidatesAt(x, y)) {
             final float tcX = interactive.getGlobalX();
             final float tcY = interactive.getGlobalY();
             final float tcW = interactive.getInteractiveArea().getWidth() * interactive.getGlobalScaleX();
@@ -345,6 +374,7 @@ public class InteractiveManager {
 
             hoveredInteractive = upperInteractive;
             upperInteractive.setHovering(true);
+            setActive(upperInteractive);
 
             dispatch(upperInteractive, InputEvent.MouseHover.create(
                     (int) (x - _tcX),
@@ -39,7 +39,7 @@ public class InteractiveSprite extends BasicSprite implements Interactive {
     private FreeShape freeShape;
 
     public InteractiveSprite() {
-        interactiveArea = new InteractiveArea(0, 0, 0, 0);
+        interactiveArea = new InteractiveArea(this, 0, 0, 0, 0);
         enabled = true;
         pushEventUp = true;
         InteractiveManager.getInstance().registerInteractive(this);
@@ -48,7 +48,7 @@ public class InteractiveSprite extends BasicSprite implements Interactive {
 
     private InteractiveSprite(TextureRegion textureRegion) {
         setTextureRegion(textureRegion);
-        interactiveArea = new InteractiveArea(0, 0, textureRegion.getWidth(), textureRegion.getHeight());
+        interactiveArea = new InteractiveArea(this, 0, 0, textureRegion.getWidth(), textureRegion.getHeight());
         enabled = true;
         pushEventUp = true;
         InteractiveManager.getInstance().registerInteractive(this);
@@ -74,6 +74,12 @@ public class InteractiveSprite extends BasicSprite implements Interactive {
     @Override
     public void setInteractiveFreeShape(FreeShape freeShape) {
         this.freeShape = freeShape;
+        InteractiveManager.getInstance().invalidateBounds(this);
+    }
+
+    @Override
+    protected void onGlobalsInvalidated() {
+        InteractiveManager.getInstance().invalidateBounds(this);
     }
 
     public FreeShape getInteractiveFreeShape() {
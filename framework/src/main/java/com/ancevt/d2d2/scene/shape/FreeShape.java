@@ -156,6 +156,7 @@ public class FreeShape extends AbstractNode implements Shape, Colored {
 
     public void commit() {
         triangles.clear();
+        invalidateDrawnBounds();
 
         List<Double> coords = new ArrayList<>();
         for (Vertex vertex : vertices) {
@@ -93,6 +93,7 @@ public class LineBatch extends AbstractNode implements Shape {
 
         currentLine = new Line(vertexA, vertexB);
         lines.add(currentLine);
+        invalidateDrawnBounds();
 
         return currentLine;
     }
@@ -109,6 +110,7 @@ public class LineBatch extends AbstractNode implements Shape {
     @Override
     public void setColor(Color color) {
         this.color = color;
+        invalidateRenderCache();
     }
 
     @Override
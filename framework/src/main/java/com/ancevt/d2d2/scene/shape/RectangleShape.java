@@ -49,18 +49,21 @@ public class RectangleShape extends AbstractNode implements Shape, Resizable, Co
     public void setSize(float width, float height) {
         this.width = width;
         this.height = height;
+        invalidateDrawnBounds();
         dispatchEvent(CommonEvent.Resize.create(width, height));
     }
 
     @Override
     public void setWidth(float value) {
         this.width = value;
+        invalidateDrawnBounds();
         dispatchEvent(CommonEvent.Resize.create(width, height));
     }
 
     @Override
     public void setHeight(float value) {
         this.height = value;
+        invalidateDrawnBounds();
         dispatchEvent(CommonEvent.Resize.create(width, height));
     }
 
@@ -77,6 +80,7 @@ public class RectangleShape extends AbstractNode implements Shape, Resizable, Co
     @Override
     public void setColor(Color color) {
         this.color = color;
+        invalidateRenderCache();
     }
 
     @Override
@@ -20,22 +20,29 @@ package com.ancevt.d2d2.scene.text;
 
 public class BitmapCharInfo {
 
-    private final char character;
+    private final int codePoint;
     private final int x;
     private final int y;
     private final int width;
     private final int height;
 
-    public BitmapCharInfo(char character, int x, int y, int width, int height) {
-        this.character = character;
+    public BitmapCharInfo(int codePoint, int x, int y, int width, int height) {
+        this.codePoint = codePoint;
         this.x = x;
         this.y = y;
         this.width = width;
         this.height = height;
     }
 
+    /**
+     * @return the character, or its high surrogate if the code point is beyond the BMP
+     */
     public char character() {
-        return character;
+        return Character.isBmpCodePoint(codePoint) ? (char) codePoint : Character.highSurrogate(codePoint);
+    }
+
+    public int codePoint() {
+        return codePoint;
     }
 
     public int x() {
@@ -57,7 +64,7 @@ public class BitmapCharInfo {
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("BitmapCharInfo{");
-        sb.append("character=").append(character);
+        sb.append("character=").appendCodePoint(codePoint);
         sb.append(", x=").append(x);
         sb.append(", y=").append(y);
         sb.append(", width=").append(width);
@@ -24,7 +24,7 @@ import com.ancevt.d2d2.scene.texture.Texture;
 
 public class BitmapFont implements Disposable {
 
-    private final BitmapCharInfo[] charInfos;
+    private final GlyphTable glyphs;
     private final Texture texture;
     private final String name;
 
@@ -33,23 +33,23 @@ public class BitmapFont implements Disposable {
     private float paddingTop;
     private boolean disposed;
 
-    BitmapFont(String name, Texture texture, BitmapCharInfo[] charInfos) {
+    BitmapFont(String name, Texture texture, GlyphTable glyphs) {
         this.name = name;
         this.texture = texture;
-        this.charInfos = charInfos;
+        this.glyphs = glyphs;
 
         BitmapCharInfo[] charInfosToCheck = {
-                charInfos['|'],
-                charInfos['.'],
-                charInfos['I'],
-                charInfos['_'],
-                charInfos['Ж'],
-                charInfos['Щ'],
-                charInfos['\''],
-                charInfos['W'],
+                glyphs.get('|'),
+                glyphs.get('.'),
+                glyphs.get('I'),
+                glyphs.get('_'),
+                glyphs.get('Ж'),
+                glyphs.get('Щ'),
+                glyphs.get('\''),
+                glyphs.get('W'),
         };
 
-        int width = charInfos['0'].width();
+        int width = glyphs.get('0').width();
 
         boolean foundDifferent = false;
 
@@ -68,10 +68,11 @@ public class BitmapFont implements Disposable {
     public float computeTextWidth(String text, float spacing) {
         float sum = 0.0f;
 
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
 
-            BitmapCharInfo bitmapCharInfo = charInfos[c];
+            BitmapCharInfo bitmapCharInfo = glyphs.get(codePoint);
             if (bitmapCharInfo != null) {
                 sum += bitmapCharInfo.width() + spacing;
             }
@@ -85,20 +86,37 @@ public class BitmapFont implements Disposable {
         return monospaced;
     }
 
-    public final boolean isCharSupported(char c) {
-        return getCharInfo(c) != null;
+    public final boolean isCharSupported(int codePoint) {
+        return getCharInfo(codePoint) != null;
     }
 
-    public final BitmapCharInfo getCharInfo(char c) {
-        return charInfos[c];
+    /**
+     * @param codePoint a character or a code point beyond the BMP
+     */
+    public final BitmapCharInfo getCharInfo(int codePoint) {
+        return glyphs.get(codePoint);
     }
 
     public final int getZeroCharWidth() {
-        return charInfos['0'].width();
+        return glyphs.get('0').width();
     }
 
     public final int getZeroCharHeight() {
-        return charInfos['0'].height();
+        return glyphs.get('0').height();
+    }
+
+    public int getGlyphCount() {
+        return glyphs.size();
+    }
+
+    public BitmapFontMemoryStats getMemoryStats() {
+        return new BitmapFontMemoryStats(
+                name,
+                glyphs.size(),
+                glyphs.getDenseCount(),
+                glyphs.getSparseCount(),
+                glyphs.estimateBytes()
+        );
     }
 
     public Texture getTexture() {
@@ -20,23 +20,30 @@ package com.ancevt.d2d2.scene.text;
 
 import com.ancevt.d2d2.D2D2;
 import com.ancevt.d2d2.asset.Assets;
+import com.ancevt.d2d2.scene.texture.Texture;
 import com.ancevt.d2d2.util.Args;
 import lombok.Getter;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static java.lang.Integer.parseInt;
 
 public class BitmapFontManager {
 
-    private static final int MAX_CHARS = 65536;
-
     private static final String BITMAP_FONTS_ASSET_DIR = "bitmapfonts/";
     private static final String DEFAULT_BITMAP_FONT = "terminus/Terminus-12";
 
@@ -63,11 +70,92 @@ public class BitmapFontManager {
     }
 
     public BitmapFont loadBitmapFont(InputStream charsDataInputStream, InputStream pngInputStream, String name) {
-        BitmapCharInfo[] charInfos = new BitmapCharInfo[MAX_CHARS];
+        return loadBitmapFont(charsDataInputStream, D2D2.textureManager().loadTexture(pngInputStream), name);
+    }
+
+    /**
+     * Creates the font from its character data and an already loaded texture
+     */
+    public BitmapFont loadBitmapFont(InputStream charsDataInputStream, Texture texture, String name) {
+        GlyphTable glyphs = new GlyphTable();
+        readCharsData(charsDataInputStream).forEach(glyphs::put);
+        return createBitmapFont(name, texture, glyphs);
+    }
+
+    /**
+     * Creates the font from a {@link CompiledBitmapFont}, uploading its pixels as they are, without decoding a PNG
+     */
+    public BitmapFont loadBitmapFont(CompiledBitmapFont compiledFont, String name) {
+        GlyphTable glyphs = new GlyphTable();
+        for (int i = 0; i < compiledFont.getGlyphCount(); i++) {
+            glyphs.put(compiledFont.getGlyph(i));
+        }
+        Texture texture = D2D2.textureManager().loadTexture(
+                compiledFont.getWidth(),
+                compiledFont.getHeight(),
+                compiledFont.getRgbaPixels()
+        );
+        return createBitmapFont(name, texture, glyphs);
+    }
+
+    /**
+     * Loads a compiled font file by mapping it into memory
+     */
+    public BitmapFont loadCompiledBitmapFont(Path path) {
+        BitmapFont fromCache = bitmapFontMap.get(path.toString());
+        if (fromCache != null) {
+            return fromCache;
+        }
+
+        try {
+            return loadBitmapFont(CompiledBitmapFont.map(path), path.toString());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Loads a compiled font asset; assets served from an {@link com.ancevt.d2d2.asset.AssetPack} are read from
+     * the pack without copying
+     */
+    public BitmapFont loadCompiledBitmapFont(String assetPath) {
+        BitmapFont fromCache = bitmapFontMap.get(assetPath);
+        if (fromCache != null) {
+            return fromCache;
+        }
+
+        ByteBuffer data = Assets.getAsset(BITMAP_FONTS_ASSET_DIR + assetPath).getByteBuffer();
+        return loadBitmapFont(CompiledBitmapFont.wrap(data), assetPath);
+    }
+
+    private BitmapFont createBitmapFont(String name, Texture texture, GlyphTable glyphs) {
+        BitmapCharInfo space = glyphs.get(' ');
+        glyphs.put(new BitmapCharInfo(
+                '\n',
+                space.x(),
+                space.y(),
+                0,
+                space.height()
+        ));
+
+        BitmapFont bitmapFont = new BitmapFont(name, texture, glyphs);
+
+        bitmapFontMap.put(name, bitmapFont);
+
+        return bitmapFont;
+    }
+
+    /**
+     * Parses the text {@code .bmf} format: a {@code #meta} line with the spacing added to every glyph, then a line
+     * per glyph with the character, x, y, width and height
+     */
+    static List<BitmapCharInfo> readCharsData(InputStream charsDataInputStream) {
+        List<BitmapCharInfo> result = new ArrayList<>();
         int spacingX = 0;
         int spacingY = 0;
 
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(charsDataInputStream))) {
+        try (BufferedReader bufferedReader = new BufferedReader(
+                new InputStreamReader(charsDataInputStream, StandardCharsets.UTF_8))) {
 
             String line;
             while ((line = bufferedReader.readLine()) != null) {
@@ -80,38 +168,26 @@ public class BitmapFontManager {
                 }
 
                 StringTokenizer stringTokenizer = new StringTokenizer(line);
-                char c = line.charAt(0) == ' ' ? ' ' : stringTokenizer.nextToken().charAt(0);
+                int codePoint = line.charAt(0) == ' ' ? ' ' : stringTokenizer.nextToken().codePointAt(0);
 
-                if ((int) c == 8) {
+                if (codePoint == 8) {
                     continue;
                 }
 
-                charInfos[c] = new BitmapCharInfo(
-                        c,
+                result.add(new BitmapCharInfo(
+                        codePoint,
                         parseInt(stringTokenizer.nextToken()),
                         parseInt(stringTokenizer.nextToken()),
                         parseInt(stringTokenizer.nextToken()) + spacingX,
                         parseInt(stringTokenizer.nextToken()) + spacingY
-                );
+                ));
             }
 
-            charInfos['\n'] = new BitmapCharInfo(
-                    '\n',
-                    charInfos[' '].x(),
-                    charInfos[' '].y(),
-                    0,
-                    charInfos[' '].height()
-            );
-
         } catch (IOException e) {
             throw new IllegalArgumentException(e);
         }
 
-        BitmapFont bitmapFont = new BitmapFont(name, D2D2.textureManager().loadTexture(pngInputStream), charInfos);
-
-        bitmapFontMap.put(name, bitmapFont);
-
-        return bitmapFont;
+        return result;
     }
 
     public BitmapFont loadBitmapFont(String pngAssetPath, String bmfAssetPath) {
@@ -138,6 +214,26 @@ public class BitmapFontManager {
         return bitmapFont;
     }
 
+    /**
+     * Loads the font without blocking the caller: the character data is read and the texture decoded on the
+     * executor, and the font is created on {@code renderThread}. Must be called on the render thread.
+     */
+    public CompletableFuture<BitmapFont> loadBitmapFontAsync(String pngAssetPath, String bmfAssetPath,
+                                                             Executor executor, Executor renderThread) {
+        BitmapFont fromCache = bitmapFontMap.get(bmfAssetPath);
+        if (fromCache != null) {
+            return CompletableFuture.completedFuture(fromCache);
+        }
+
+        CompletableFuture<byte[]> charsData = CompletableFuture.supplyAsync(
+                () -> Assets.getAsset(BITMAP_FONTS_ASSET_DIR + bmfAssetPath).readAllBytes(), executor);
+        CompletableFuture<Texture> texture =
+                D2D2.textureManager().loadTextureAsync(BITMAP_FONTS_ASSET_DIR + pngAssetPath, executor);
+
+        return texture.thenCombineAsync(charsData,
+                (t, bytes) -> loadBitmapFont(new ByteArrayInputStream(bytes), t, bmfAssetPath), renderThread);
+    }
+
     public void remove(String name) {
         BitmapFont bitmapFont = bitmapFontMap.remove(name);
         if (bitmapFont != null) {
@@ -149,5 +245,14 @@ public class BitmapFontManager {
         return Map.copyOf(bitmapFontMap);
     }
 
+    /**
+     * @return glyph table memory of every loaded font
+     */
+    public List<BitmapFontMemoryStats> getMemoryStats() {
+        List<BitmapFontMemoryStats> result = new ArrayList<>();
+        bitmapFontMap.values().forEach(bitmapFont -> result.add(bitmapFont.getMemoryStats()));
+        return result;
+    }
+
 
 }
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.text;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Memory used by the glyph table of a bitmap font, its texture not included.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BitmapFontMemoryStats {
+
+    private final String fontName;
+
+    private final int glyphs;
+
+    /**
+     * Glyphs in the dense Latin-1 range
+     */
+    private final int denseGlyphs;
+
+    /**
+     * Glyphs looked up by hash, code points beyond the BMP included
+     */
+    private final int sparseGlyphs;
+
+    /**
+     * Estimated heap size of the glyph table and its glyphs
+     */
+    private final long estimatedBytes;
+}
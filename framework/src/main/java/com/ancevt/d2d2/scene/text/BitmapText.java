@@ -25,6 +25,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static java.lang.Integer.parseInt;
@@ -37,6 +38,8 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
     protected static final float DEFAULT_HEIGHT = 128f;
     protected static final Color DEFAULT_COLOR = Color.WHITE;
 
+    // Source text, appended to in place; the string is built when asked for
+    private final StringBuilder textChars = new StringBuilder();
     private String text;
     private Color color;
 
@@ -75,6 +78,12 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
     private boolean wordWrap = true;
     private Sprite sprite;
 
+    private GlyphLayout glyphLayout;
+
+    @Getter
+    private int maxLines;
+    private int lineBreakCount;
+
     private BitmapText(final BitmapFont bitmapFont, float width, float height, String text) {
         setBitmapFont(bitmapFont);
         setColor(DEFAULT_COLOR);
@@ -129,6 +138,7 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
         bitmapText.setWordWrap(isWordWrap());
         bitmapText.setCacheAsSprite(isCacheAsSprite());
         bitmapText.setScale(getScaleX(), getScaleY());
+        bitmapText.setMaxLines(getMaxLines());
         return bitmapText;
     }
 
@@ -156,7 +166,28 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
         });
     }
 
+    /**
+     * Returns the glyph layout of the current text and settings, computing it on the first call after a change.
+     */
+    public GlyphLayout getGlyphLayout() {
+        if (glyphLayout == null) {
+            glyphLayout = GlyphLayout.compute(this);
+        }
+        return glyphLayout;
+    }
+
+    private void invalidateLayout() {
+        glyphLayout = null;
+    }
+
     private void updateCachedSprite() {
+        invalidateLayout();
+        refreshCachedSprite();
+    }
+
+    private void refreshCachedSprite() {
+        invalidateDrawnBounds();
+
         if (sprite != null && sprite.getTextureRegion() != null) {
             D2D2.textureManager().unloadTexture(sprite.getTextureRegion().getTexture());
         }
@@ -166,14 +197,33 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
 
     public void setAutosize(boolean autosize) {
         this.autosize = autosize;
+        invalidateLayout();
         if (autosize) {
-            setSize(getTextWidth(), getTextHeight());
+            fitSizeToText();
         }
-        updateCachedSprite();
+        refreshCachedSprite();
+    }
+
+    /**
+     * Sets the bounds of an autosized text to its extents. The layout of an autosized text does not depend on its
+     * bounds, so the layout computed here is kept.
+     */
+    private void fitSizeToText() {
+        width = Math.min(getTextWidth(), maxWidth);
+        height = Math.min(getTextHeight(), maxHeight);
+    }
+
+    private void sizeChanged() {
+        if (!autosize) {
+            invalidateLayout();
+        }
+        refreshCachedSprite();
     }
 
     public void setMaxWidth(float value) {
         this.maxWidth = value;
+        // Bounds the layout of an autosized text as well
+        invalidateLayout();
         setWidth(width);
     }
 
@@ -185,6 +235,7 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
     public void setMaxSize(float maxWidth, float maxHeight) {
         this.maxWidth = maxWidth;
         this.maxHeight = maxHeight;
+        invalidateLayout();
         setSize(width, height);
     }
 
@@ -210,9 +261,12 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
     public void setColor(Color color) {
         this.color = color;
         if (multicolor) {
+            // The color of untagged letters is in the layout
             colorTextData = new ColorTextData(getText(), color);
+            updateCachedSprite();
+        } else {
+            refreshCachedSprite();
         }
-        updateCachedSprite();
     }
 
     @Override
@@ -226,29 +280,131 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
     }
 
     public void setText(String text) {
+        textChars.setLength(0);
+        textChars.append(text);
         this.text = text;
+        invalidateLayout();
         if (multicolor) {
             colorTextData = new ColorTextData(getText(), getColor());
         }
+        lineBreakCount = countLineBreaks(text);
+        if (maxLines > 0 && lineBreakCount >= maxLines) {
+            removeLeadingLines(lineBreakCount - maxLines + 1);
+        }
         if (autosize) {
-            setSize(getTextWidth(), getTextHeight());
+            fitSizeToText();
         }
 
-        updateCachedSprite();
+        refreshCachedSprite();
+    }
+
+    /**
+     * Appends text, e.g. a line to a log view. Only the last lines and the appended text are laid out again, and with {@link #setMaxLines(int) max lines} set the oldest lines are dropped, so the
+     * cost of an append does not grow with the text already shown. Avoid {@link #setCacheAsSprite(boolean)} on
+     * such texts: the sprite is rendered again on every change.
+     */
+    public void appendText(String appended) {
+        if (appended.isEmpty()) return;
+
+        if (isEmpty()) {
+            setText(appended);
+            return;
+        }
+
+        textChars.append(appended);
+        text = null;
+        lineBreakCount += countLineBreaks(appended);
+        if (multicolor) {
+            colorTextData.append(appended);
+        }
+        if (glyphLayout != null) {
+            glyphLayout.append(this);
+        }
+
+        if (maxLines > 0 && lineBreakCount >= maxLines) {
+            removeLeadingLines(lineBreakCount - maxLines + 1);
+        }
+        if (autosize) {
+            fitSizeToText();
+        }
+
+        refreshCachedSprite();
+    }
+
+    /**
+     * Limits the text to its last {@code maxLines} lines, counting line breaks only; older lines are dropped when
+     * text is set or appended. Zero means no limit.
+     */
+    public void setMaxLines(int maxLines) {
+        if (maxLines < 0) throw new IllegalArgumentException("maxLines must not be negative: " + maxLines);
+        this.maxLines = maxLines;
+        if (maxLines > 0 && lineBreakCount >= maxLines) {
+            setText(getText());
+        }
+    }
+
+    private void removeLeadingLines(int count) {
+        int rawEnd = 0;
+        for (int i = count; i > 0; i--) {
+            rawEnd = textChars.indexOf("\n", rawEnd) + 1;
+        }
+
+        int plainEnd = rawEnd;
+        if (multicolor) {
+            CharSequence plainChars = colorTextData.getPlainChars();
+            plainEnd = 0;
+            for (int i = count; i > 0; i--) {
+                while (plainChars.charAt(plainEnd) != '\n') plainEnd++;
+                plainEnd++;
+            }
+            colorTextData.removeFirst(plainEnd);
+
+            // Keep the color of the first remaining letter in the source text
+            textChars.delete(0, rawEnd);
+            Color color = colorTextData.length() > 0
+                    ? colorTextData.getColoredLetter(0).getColor()
+                    : colorTextData.endColor;
+            if (!color.equals(this.color) && (textChars.length() == 0 || textChars.charAt(0) != '<')) {
+                textChars.insert(0, String.format("<%06X>", color.getValue()));
+            }
+        } else {
+            textChars.delete(0, rawEnd);
+        }
+        text = null;
+        lineBreakCount -= count;
+
+        if (glyphLayout != null && !glyphLayout.removeLeadingLines(bitmapFont, plainEnd)) {
+            glyphLayout = null;
+        }
+    }
+
+    private static int countLineBreaks(String text) {
+        int count = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            count++;
+        }
+        return count;
     }
 
     public String getPlainText() {
-        if (!multicolor) return text;
+        if (!multicolor) return getText();
 
         return getColorTextData().getPlainText();
     }
 
     public String getText() {
+        if (text == null) {
+            text = textChars.toString();
+        }
         return text;
     }
 
+    CharSequence getTextChars() {
+        return textChars;
+    }
+
     public boolean isEmpty() {
-        return text == null || text.length() == 0;
+        return textChars.length() == 0;
     }
 
     public BitmapFont getBitmapFont() {
@@ -279,59 +435,11 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
     }
 
     public float getTextWidth() {
-        if (isEmpty()) return 0;
-
-        final char[] chars = getPlainText().toCharArray();
-        float w = 0;
-
-        final BitmapFont bitmapFont = getBitmapFont();
-
-        float max = 0;
-
-        for (final char c : chars) {
-            if (c == '\n' || (width > 0 && w > getMaxWidth())) {
-                if (!isMultiline()) return w;
-                w = 0;
-            }
-
-            BitmapCharInfo info = bitmapFont.getCharInfo(c);
-            if (info == null) continue;
-
-            w += (int) (info.width() + getSpacing());
-
-            if (w > max) max = w;
-        }
-
-        return max - getSpacing();
+        return isEmpty() ? 0 : getGlyphLayout().getTextWidth();
     }
 
     public float getTextHeight() {
-        if (isEmpty()) return 0;
-
-        final char[] chars = getPlainText().toCharArray();
-        float w = 0;
-
-        final BitmapFont bitmapFont = getBitmapFont();
-
-        float max = 0;
-
-        float h = 0;
-
-        for (final char c : chars) {
-            if (c == '\n' || (width > 0 && w > getMaxWidth())) {
-                h += (int) (bitmapFont.getZeroCharHeight() + getLineSpacing());
-                w = 0;
-            }
-
-            BitmapCharInfo info = bitmapFont.getCharInfo(c);
-            if (info == null) continue;
-
-            w += info.width() + getSpacing();
-
-            if (w > max) max = w;
-        }
-
-        return h + bitmapFont.getZeroCharHeight();
+        return isEmpty() ? 0 : getGlyphLayout().getTextHeight();
     }
 
     @Override
@@ -368,7 +476,7 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
             width = maxWidth;
         }
 
-        updateCachedSprite();
+        sizeChanged();
     }
 
     @Override
@@ -379,7 +487,7 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
             height = maxHeight;
         }
 
-        updateCachedSprite();
+        sizeChanged();
     }
 
     @Override
@@ -395,7 +503,7 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
             this.height = maxHeight;
         }
 
-        updateCachedSprite();
+        sizeChanged();
     }
 
     public void setWordWrap(boolean wordWrap) {
@@ -425,7 +533,7 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
     @Override
     public String toString() {
         return "BitmapText{" +
-                "text='" + text + '\'' +
+                "text='" + getText() + '\'' +
                 ", color=" + color +
                 ", bitmapFont=" + bitmapFont +
                 ", lineSpacing=" + lineSpacing +
@@ -437,20 +545,36 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
 
     public static class ColorTextData {
 
-        private Letter[] letters;
+        private Letter[] letters = new Letter[0];
+        private int length;
+        private final StringBuilder plainChars = new StringBuilder();
         private String plainText;
         private final Color defaultColor;
+        private Color endColor;
 
         private ColorTextData(String text, Color defaultColor) {
             this.defaultColor = defaultColor;
-            createData(text);
+            createData(text.isEmpty() ? " " : text, defaultColor);
         }
 
-        private void createData(String text) {
-            List<Letter> letterList = new ArrayList<>();
-            Color color = defaultColor;
+        /**
+         * Parses text appended to the source text, continuing with the color in effect at the end of the text.
+         */
+        private void append(String text) {
+            createData(text, endColor);
+        }
 
-            if (text.isEmpty()) text = " ";
+        private void removeFirst(int count) {
+            System.arraycopy(letters, count, letters, 0, length - count);
+            Arrays.fill(letters, length - count, length, null);
+            length -= count;
+            plainChars.delete(0, count);
+            plainText = null;
+        }
+
+        private void createData(String text, Color startColor) {
+            List<Letter> letterList = new ArrayList<>();
+            Color color = startColor;
 
             int firstIndexOpen = text.indexOf("<");
             int lastIndexClose = text.lastIndexOf('>');
@@ -498,25 +622,39 @@ public class BitmapText extends AbstractNode implements Colored, Resizable {
             } else {
                 for (int i = 0; i < text.length(); i++) {
                     char c = text.charAt(i);
-                    letterList.add(new Letter(c, defaultColor));
+                    letterList.add(new Letter(c, startColor));
                     stringBuilder.append(c);
                 }
             }
 
-            letters = letterList.toArray(new Letter[0]);
-            plainText = stringBuilder.toString();
+            if (length + letterList.size() > letters.length) {
+                letters = Arrays.copyOf(letters, Math.max(length + letterList.size(), letters.length * 2));
+            }
+            for (Letter letter : letterList) {
+                letters[length++] = letter;
+            }
+            plainChars.append(stringBuilder);
+            plainText = null;
+            endColor = color;
         }
 
         public String getPlainText() {
+            if (plainText == null) {
+                plainText = plainChars.toString();
+            }
             return plainText;
         }
 
+        CharSequence getPlainChars() {
+            return plainChars;
+        }
+
         public Letter getColoredLetter(int index) {
             return letters[index];
         }
 
         public int length() {
-            return letters.length;
+            return length;
         }
 
         public static class Letter {
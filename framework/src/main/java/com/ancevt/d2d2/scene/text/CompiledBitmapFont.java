@@ -0,0 +1,289 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.text;
+
+import com.ancevt.d2d2.util.Deflate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+/**
+ * Bitmap font compiled into a single binary file: glyph metrics and the pixels of the atlas, loaded with one read
+ * or memory mapping instead of parsing a {@code .bmf} file and decoding a PNG. Atlases whose visible pixels are
+ * all white, as rendered from TrueType fonts, keep only the alpha channel; pixel data may also be deflated.
+ * <p>
+ * Layout, big endian: magic {@code D2BF}, version, flags, atlas width and height, glyph count and the size of the
+ * stored pixel data, followed by code point, x, y, width and height of each glyph and the pixel data, RGBA or
+ * alpha, row by row from the top.
+ */
+public final class CompiledBitmapFont {
+
+    private static final int MAGIC = 0x44324246;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 28;
+    private static final int GLYPH_SIZE = 20;
+
+    private static final int ALPHA_ONLY = 1;
+    private static final int DEFLATED = 2;
+
+    private final int flags;
+    private final int width;
+    private final int height;
+    private final ByteBuffer glyphData;
+    private final ByteBuffer pixelData;
+
+    private CompiledBitmapFont(int flags, int width, int height, ByteBuffer glyphData, ByteBuffer pixelData) {
+        this.flags = flags;
+        this.width = width;
+        this.height = height;
+        this.glyphData = glyphData;
+        this.pixelData = pixelData;
+    }
+
+    /**
+     * Compiles a font from its glyphs and the ARGB pixels of its atlas.
+     */
+    public static CompiledBitmapFont create(int width, int height, int[] argbPixels, List<BitmapCharInfo> glyphs) {
+        ByteBuffer glyphData = ByteBuffer.allocate(glyphs.size() * GLYPH_SIZE);
+        for (BitmapCharInfo glyph : glyphs) {
+            glyphData.putInt(glyph.codePoint())
+                    .putInt(glyph.x())
+                    .putInt(glyph.y())
+                    .putInt(glyph.width())
+                    .putInt(glyph.height());
+        }
+        glyphData.flip();
+
+        boolean alphaOnly = true;
+        for (int argb : argbPixels) {
+            if (argb >>> 24 != 0 && (argb & 0xFFFFFF) != 0xFFFFFF) {
+                alphaOnly = false;
+                break;
+            }
+        }
+
+        ByteBuffer pixelData;
+        if (alphaOnly) {
+            pixelData = ByteBuffer.allocate(argbPixels.length);
+            for (int argb : argbPixels) {
+                pixelData.put((byte) (argb >>> 24));
+            }
+            pixelData.flip();
+        } else {
+            pixelData = ByteBuffer.allocate(argbPixels.length * 4);
+            IntBuffer rgba = pixelData.asIntBuffer();
+            for (int argb : argbPixels) {
+                rgba.put(argb << 8 | argb >>> 24);
+            }
+        }
+
+        return new CompiledBitmapFont(alphaOnly ? ALPHA_ONLY : 0, width, height, glyphData, pixelData);
+    }
+
+    /**
+     * Reads a compiled font from the buffer, which is kept for the pixel data and must not be modified
+     */
+    public static CompiledBitmapFont wrap(ByteBuffer buffer) {
+        buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        if (buffer.limit() < HEADER_SIZE || !isCompiledBitmapFont(buffer)) {
+            throw new IllegalArgumentException("Not a compiled bitmap font");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported compiled bitmap font version " + buffer.getInt(4));
+        }
+
+        int flags = buffer.getInt(8);
+        int width = buffer.getInt(12);
+        int height = buffer.getInt(16);
+        int glyphCount = buffer.getInt(20);
+        int pixelSize = buffer.getInt(24);
+
+        long glyphsEnd = HEADER_SIZE + (long) glyphCount * GLYPH_SIZE;
+        if (glyphCount < 0 || pixelSize < 0 || glyphsEnd + pixelSize > buffer.limit()) {
+            throw new IllegalArgumentException("Truncated compiled bitmap font");
+        }
+
+        // Deflated pixel data is checked against the atlas size when it is inflated
+        long pixelCount = (long) width * height;
+        if (width <= 0 || height <= 0 || pixelCount * 4 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid compiled bitmap font size " + width + "x" + height);
+        }
+        long expectedPixelSize = (flags & ALPHA_ONLY) != 0 ? pixelCount : pixelCount * 4;
+        if ((flags & DEFLATED) == 0 && pixelSize != expectedPixelSize) {
+            throw new IllegalArgumentException("Compiled bitmap font pixel data is " + pixelSize
+                    + " bytes, expected " + expectedPixelSize + " for " + width + "x" + height);
+        }
+
+        return new CompiledBitmapFont(
+                flags,
+                width,
+                height,
+                buffer.slice(HEADER_SIZE, glyphCount * GLYPH_SIZE),
+                buffer.slice((int) glyphsEnd, pixelSize)
+        );
+    }
+
+    /**
+     * Maps the file into memory; the pixels are read from the mapping when the texture is created.
+     */
+    public static CompiledBitmapFont map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static boolean isCompiledBitmapFont(ByteBuffer buffer) {
+        return buffer.remaining() >= 4
+                && buffer.duplicate().order(ByteOrder.BIG_ENDIAN).getInt(buffer.position()) == MAGIC;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isAlphaOnly() {
+        return (flags & ALPHA_ONLY) != 0;
+    }
+
+    public boolean isCompressed() {
+        return (flags & DEFLATED) != 0;
+    }
+
+    public int getGlyphCount() {
+        return glyphData.limit() / GLYPH_SIZE;
+    }
+
+    public BitmapCharInfo getGlyph(int index) {
+        int offset = index * GLYPH_SIZE;
+        return new BitmapCharInfo(
+                glyphData.getInt(offset),
+                glyphData.getInt(offset + 4),
+                glyphData.getInt(offset + 8),
+                glyphData.getInt(offset + 12),
+                glyphData.getInt(offset + 16)
+        );
+    }
+
+    /**
+     * Returns the atlas as tightly packed RGBA bytes, row by row from the top. Uncompressed RGBA data is returned
+     * as a read-only view without copying.
+     */
+    public ByteBuffer getRgbaPixels() {
+        int pixelCount = width * height;
+        ByteBuffer pixels = isCompressed() ? inflatePixels(isAlphaOnly() ? pixelCount : pixelCount * 4) : pixelData;
+        if (!isAlphaOnly()) {
+            return pixels.asReadOnlyBuffer();
+        }
+
+        ByteBuffer rgba = ByteBuffer.allocate(pixelCount * 4);
+        // R, G, B, A bytes as little endian ints; transparent pixels stay black as in the source image
+        IntBuffer ints = rgba.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        for (int i = 0; i < pixelCount; i++) {
+            int alpha = pixels.get(i) & 0xFF;
+            ints.put(alpha == 0 ? 0 : alpha << 24 | 0xFFFFFF);
+        }
+        return rgba.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private ByteBuffer inflatePixels(int size) {
+        try {
+            return Deflate.inflate(pixelData, size);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt pixel data of compiled bitmap font: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the font; with {@code compress} the pixel data is deflated when that makes it smaller.
+     */
+    public void write(OutputStream outputStream, boolean compress) throws IOException {
+        int flags = this.flags;
+        ByteBuffer pixels = pixelData.duplicate();
+        if (compress && !isCompressed()) {
+            byte[] deflated = Deflate.deflate(pixels);
+            if (deflated.length < pixels.remaining()) {
+                pixels = ByteBuffer.wrap(deflated);
+                flags |= DEFLATED;
+            }
+        }
+
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeInt(VERSION);
+        dataOutputStream.writeInt(flags);
+        dataOutputStream.writeInt(width);
+        dataOutputStream.writeInt(height);
+        dataOutputStream.writeInt(getGlyphCount());
+        dataOutputStream.writeInt(pixels.remaining());
+        write(dataOutputStream, glyphData.duplicate());
+        write(dataOutputStream, pixels);
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Build-time compiler of fonts in the text format:
+     * {@code CompiledBitmapFont <png file> <bmf file> <output file> [--compress]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: CompiledBitmapFont <png file> <bmf file> <output file> [--compress]");
+            System.exit(1);
+        }
+        boolean compress = args.length > 3 && args[3].equals("--compress");
+
+        BufferedImage image = ImageIO.read(Path.of(args[0]).toFile());
+        List<BitmapCharInfo> glyphs;
+        try (InputStream inputStream = Files.newInputStream(Path.of(args[1]))) {
+            glyphs = BitmapFontManager.readCharsData(inputStream);
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] argbPixels = image.getRGB(0, 0, width, height, null, 0, width);
+        try (OutputStream outputStream = Files.newOutputStream(Path.of(args[2]))) {
+            create(width, height, argbPixels, glyphs).write(outputStream, compress);
+        }
+    }
+
+    private static void write(OutputStream outputStream, ByteBuffer buffer) throws IOException {
+        byte[] chunk = new byte[8192];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            outputStream.write(chunk, 0, length);
+        }
+    }
+}
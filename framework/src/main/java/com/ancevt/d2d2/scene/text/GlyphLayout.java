@@ -0,0 +1,491 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.text;
+
+import com.ancevt.d2d2.scene.texture.Texture;
+
+import java.util.Arrays;
+
+/**
+ * Positions and texture coordinates of the glyphs of a {@link BitmapText}, computed once per change of the text or
+ * its layout settings and replayed by renderers. Glyph {@code i} covers {@code x..x + width} horizontally and
+ * {@code y - height..y} vertically, {@code y} being the bottom edge, in the local coordinates of the text.
+ * <p>
+ * Appending text to a layout lays out only the last lines and what follows them; removing leading lines drops their
+ * glyphs and moves the rest up. Both cost time in proportion to the lines touched, not to the whole text. The text
+ * extents are kept up to date the same way.
+ */
+public final class GlyphLayout {
+
+    private static final int STRIDE = 8;
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int WIDTH = 2;
+    private static final int HEIGHT = 3;
+    private static final int U0 = 4;
+    private static final int V0 = 5;
+    private static final int U1 = 6;
+    private static final int V1 = 7;
+
+    private float[] quads;
+    private int[] codePoints;
+    private int[] colors;
+
+    // Glyphs are numbered in order of creation; index 0 of the arrays holds glyph glyphBase
+    private int glyphBase;
+    private int firstGlyph;
+    private int endGlyph;
+
+    // Shift of all y coordinates after leading lines were removed
+    private float offsetY;
+
+    // Number of characters removed from the front of the text so far
+    private int textBase;
+
+    // End of the text laid out, counting removed characters
+    private int textEnd;
+
+    // Line breaks laid out: text position (counting removed characters), first glyph after the break, the pen
+    // position before and after the break and the width of the line ending at the break
+    private int[] lineText = new int[8];
+    private int[] lineGlyph = new int[8];
+    private float[] lineDrawYBefore = new float[8];
+    private float[] lineDrawYAfter = new float[8];
+    private float[] lineWidth = new float[8];
+    private int firstLine;
+    private int endLine;
+
+    // Width of the text after the last line break
+    private float lastLineWidth;
+
+    // Widest line; recomputed from the line records when the line it came from may have been removed
+    private float textWidth;
+    private boolean textWidthValid = true;
+
+    // Pen position of the last line laid out and the font metrics the text height is measured with
+    private float endDrawY;
+    private float paddingTop;
+    private float lineHeight;
+
+    // Layout stopped at the bottom edge of the text; the rest of the text is not laid out
+    private boolean truncated;
+
+    private GlyphLayout(int capacity, boolean multicolor) {
+        quads = new float[capacity * STRIDE];
+        codePoints = new int[capacity];
+        colors = multicolor ? new int[capacity] : null;
+    }
+
+    public int getGlyphCount() {
+        return endGlyph - firstGlyph;
+    }
+
+    /**
+     * @return width of the widest line laid out, up to the right edge of its last glyph or space
+     */
+    public float getTextWidth() {
+        if (!textWidthValid) {
+            float width = lastLineWidth;
+            for (int line = firstLine; line < endLine; line++) {
+                width = Math.max(width, lineWidth[line]);
+            }
+            textWidth = width;
+            textWidthValid = true;
+        }
+        return textWidth;
+    }
+
+    /**
+     * @return height of the lines laid out, wrapped lines included, each line but the last one counted with the line
+     * spacing
+     */
+    public float getTextHeight() {
+        return endDrawY - offsetY - paddingTop + lineHeight;
+    }
+
+    private int index(int glyph) {
+        return firstGlyph - glyphBase + glyph;
+    }
+
+    public float getX(int glyph) {
+        return quads[index(glyph) * STRIDE + X];
+    }
+
+    public float getY(int glyph) {
+        return quads[index(glyph) * STRIDE + Y] - offsetY;
+    }
+
+    public float getWidth(int glyph) {
+        return quads[index(glyph) * STRIDE + WIDTH];
+    }
+
+    public float getHeight(int glyph) {
+        return quads[index(glyph) * STRIDE + HEIGHT];
+    }
+
+    /**
+     * @return left texture coordinate
+     */
+    public float getU0(int glyph) {
+        return quads[index(glyph) * STRIDE + U0];
+    }
+
+    /**
+     * @return texture coordinate of the bottom edge
+     */
+    public float getV0(int glyph) {
+        return quads[index(glyph) * STRIDE + V0];
+    }
+
+    public float getU1(int glyph) {
+        return quads[index(glyph) * STRIDE + U1];
+    }
+
+    /**
+     * @return texture coordinate of the top edge
+     */
+    public float getV1(int glyph) {
+        return quads[index(glyph) * STRIDE + V1];
+    }
+
+    /**
+     * @return the character of the glyph, or its high surrogate if the code point is beyond the BMP
+     */
+    public char getCharacter(int glyph) {
+        int codePoint = codePoints[index(glyph)];
+        return Character.isBmpCodePoint(codePoint) ? (char) codePoint : Character.highSurrogate(codePoint);
+    }
+
+    public int getCodePoint(int glyph) {
+        return codePoints[index(glyph)];
+    }
+
+    public boolean isMulticolor() {
+        return colors != null;
+    }
+
+    /**
+     * @return RGB of the glyph of a multicolor text
+     */
+    public int getColor(int glyph) {
+        return colors[index(glyph)];
+    }
+
+    private void add(int codePoint, BitmapCharInfo charInfo, float x, float y, int textureWidth, int textureHeight,
+                     int color) {
+        if (endGlyph - glyphBase == codePoints.length) {
+            makeRoom();
+        }
+
+        int index = endGlyph - glyphBase;
+        int i = index * STRIDE;
+        quads[i + X] = x;
+        quads[i + Y] = y;
+        quads[i + WIDTH] = charInfo.width();
+        quads[i + HEIGHT] = charInfo.height();
+        quads[i + U0] = (float) charInfo.x() / textureWidth;
+        quads[i + V0] = (float) (charInfo.y() + charInfo.height()) / textureHeight;
+        quads[i + U1] = (float) (charInfo.x() + charInfo.width()) / textureWidth;
+        quads[i + V1] = (float) charInfo.y() / textureHeight;
+        codePoints[index] = codePoint;
+        if (colors != null) colors[index] = color;
+        endGlyph++;
+    }
+
+    private void makeRoom() {
+        int removed = firstGlyph - glyphBase;
+        int count = endGlyph - firstGlyph;
+
+        // Reuse the space of removed glyphs when they take at least half of the arrays, grow otherwise
+        if (removed > 0 && removed >= codePoints.length / 2) {
+            System.arraycopy(quads, removed * STRIDE, quads, 0, count * STRIDE);
+            System.arraycopy(codePoints, removed, codePoints, 0, count);
+            if (colors != null) System.arraycopy(colors, removed, colors, 0, count);
+            glyphBase = firstGlyph;
+        } else {
+            int capacity = Math.max(16, codePoints.length * 2);
+            quads = Arrays.copyOf(quads, capacity * STRIDE);
+            codePoints = Arrays.copyOf(codePoints, capacity);
+            if (colors != null) colors = Arrays.copyOf(colors, capacity);
+        }
+    }
+
+    private void addLine(int textPosition, float drawYBefore, float drawYAfter, float width) {
+        if (endLine == lineText.length) {
+            if (firstLine > 0) {
+                int count = endLine - firstLine;
+                System.arraycopy(lineText, firstLine, lineText, 0, count);
+                System.arraycopy(lineGlyph, firstLine, lineGlyph, 0, count);
+                System.arraycopy(lineDrawYBefore, firstLine, lineDrawYBefore, 0, count);
+                System.arraycopy(lineDrawYAfter, firstLine, lineDrawYAfter, 0, count);
+                System.arraycopy(lineWidth, firstLine, lineWidth, 0, count);
+                firstLine = 0;
+                endLine = count;
+            }
+            if (endLine == lineText.length) {
+                int capacity = lineText.length * 2;
+                lineText = Arrays.copyOf(lineText, capacity);
+                lineGlyph = Arrays.copyOf(lineGlyph, capacity);
+                lineDrawYBefore = Arrays.copyOf(lineDrawYBefore, capacity);
+                lineDrawYAfter = Arrays.copyOf(lineDrawYAfter, capacity);
+                lineWidth = Arrays.copyOf(lineWidth, capacity);
+            }
+        }
+        lineText[endLine] = textPosition;
+        lineGlyph[endLine] = endGlyph;
+        lineDrawYBefore[endLine] = drawYBefore;
+        lineDrawYAfter[endLine] = drawYAfter;
+        lineWidth[endLine] = width;
+        endLine++;
+        if (textWidthValid) textWidth = Math.max(textWidth, width);
+    }
+
+    static GlyphLayout compute(BitmapText bitmapText) {
+        int length = bitmapText.isMulticolor()
+                ? bitmapText.getColorTextData().length()
+                : bitmapText.getTextChars().length();
+        GlyphLayout layout = new GlyphLayout(length, bitmapText.isMulticolor());
+        layout.layOut(bitmapText, 0, bitmapText.getBitmapFont().getPaddingTop(), 0f);
+        return layout;
+    }
+
+    /**
+     * Lays out text appended to the text of the layout since it was computed. Wrapping before a separator depends
+     * on the width of the next word, which the appended text may extend, so layout starts over from the last line
+     * break ahead of the separators that precede the last word of the previous text.
+     */
+    void append(BitmapText bitmapText) {
+        // Anything appended would be cut off as well
+        if (truncated) return;
+
+        CharSequence text = bitmapText.isMulticolor()
+                ? bitmapText.getColorTextData().getPlainChars()
+                : bitmapText.getTextChars();
+        int affected = textEnd - textBase;
+        while (affected > 0 && isWordCharacter(text.charAt(affected - 1))) affected--;
+        while (affected > 0 && !isWordCharacter(text.charAt(affected - 1))) affected--;
+
+        float removedWidth = lastLineWidth;
+        while (endLine > firstLine && lineText[endLine - 1] - textBase > affected) {
+            endLine--;
+            removedWidth = Math.max(removedWidth, lineWidth[endLine]);
+        }
+
+        int from;
+        float drawY;
+        float width;
+        if (endLine > firstLine) {
+            // Layout restarts at the break itself, which ends a line that is kept as it is
+            endLine--;
+            from = lineText[endLine] - textBase;
+            drawY = lineDrawYBefore[endLine];
+            width = lineWidth[endLine];
+            endGlyph = lineGlyph[endLine];
+        } else {
+            from = 0;
+            drawY = bitmapText.getBitmapFont().getPaddingTop() + offsetY;
+            width = 0f;
+            endGlyph = firstGlyph;
+        }
+        if (removedWidth >= textWidth) textWidthValid = false;
+        layOut(bitmapText, from, drawY, width);
+    }
+
+    /**
+     * Drops the glyphs of the first {@code count} characters of the text, which must end with a line break, and
+     * moves the remaining glyphs up as if the text had started after that break.
+     *
+     * @return false if the layout cannot be updated in place and has to be computed again
+     */
+    boolean removeLeadingLines(BitmapFont bitmapFont, int count) {
+        BitmapCharInfo lineBreak = bitmapFont.getCharInfo('\n');
+        if (truncated || lineBreak == null || lineBreak.width() != 0) return false;
+
+        int textPosition = textBase + count - 1;
+        int line = firstLine;
+        while (line < endLine && lineText[line] < textPosition) {
+            line++;
+        }
+        if (line == endLine || lineText[line] != textPosition) return false;
+
+        for (int removed = firstLine; removed <= line; removed++) {
+            if (lineWidth[removed] >= textWidth) textWidthValid = false;
+        }
+        firstGlyph = lineGlyph[line];
+        offsetY = lineDrawYAfter[line] - bitmapFont.getPaddingTop();
+        firstLine = line + 1;
+        textBase += count;
+        return true;
+    }
+
+    /**
+     * Lays out the text from {@code from} on, starting at the pen position {@code drawY} on a line already
+     * {@code width} wide.
+     */
+    private void layOut(BitmapText bitmapText, int from, float drawY, float width) {
+        BitmapFont bitmapFont = bitmapText.getBitmapFont();
+        Texture texture = bitmapFont.getTexture();
+
+        int textureWidth = texture.getWidth();
+        int textureHeight = texture.getHeight();
+
+        float lineSpacing = bitmapText.getLineSpacing();
+        float spacing = bitmapText.getSpacing();
+
+        // The size of an autosized text is taken from its layout, so only its maximum width bounds it
+        boolean autosize = bitmapText.isAutosize();
+        float boundWidth = autosize ? bitmapText.getMaxWidth() : bitmapText.getWidth();
+        float boundHeight = autosize && bitmapText.isMultiline() ? 0 : bitmapText.getHeight();
+
+        paddingTop = bitmapFont.getPaddingTop();
+        lineHeight = bitmapFont.getZeroCharHeight();
+
+        float drawX = 0;
+
+        boolean wordWrap = bitmapText.isWordWrap();
+        boolean multicolor = bitmapText.isMulticolor();
+
+        BitmapText.ColorTextData colorTextData = multicolor ? bitmapText.getColorTextData() : null;
+        CharSequence text = multicolor ? colorTextData.getPlainChars() : bitmapText.getTextChars();
+        int length = text.length();
+        textEnd = textBase + length;
+
+        float[] nextWordWidths = wordWrap ? computeNextWordWidths(text, from, bitmapFont, spacing) : null;
+        float nextWordWidth;
+
+        for (int i = from; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (wordWrap && isSpecialCharacter(c)) {
+                nextWordWidth = nextWordWidths[i - from];
+            } else {
+                nextWordWidth = 0f;
+            }
+
+            int codePoint = c;
+            int letter = i;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, text.charAt(++i));
+            }
+
+            BitmapCharInfo charInfo = bitmapFont.getCharInfo(codePoint);
+
+            if (charInfo == null) continue;
+
+            if (charInfo.codePoint() == ' ') {
+                drawX += bitmapFont.getZeroCharWidth();
+                width = Math.max(width, drawX);
+                continue;
+            }
+
+            float charWidth = charInfo.width();
+            float charHeight = charInfo.height();
+
+            if (c == '\n' || wordWrap && (boundWidth != 0 && drawX >= boundWidth - nextWordWidth - charWidth / 1.5f)) {
+                float drawYBefore = drawY;
+                drawX = 0;
+                drawY += charHeight + lineSpacing;
+
+                if (c == '\n') {
+                    addLine(textBase + i, drawYBefore, drawY, width);
+                    width = 0f;
+                }
+
+                if (boundHeight != 0 && drawY - offsetY > boundHeight - charHeight) {
+                    truncated = true;
+                    drawY = drawYBefore;
+                    break;
+                }
+
+                if (nextWordWidth > 0) {
+                    continue;
+                }
+            }
+
+            if (!wordWrap && drawX >= boundWidth - charWidth / 1.5f) {
+                continue;
+            }
+
+            if (c != '\n') {
+                add(codePoint, charInfo, drawX, drawY + charHeight, textureWidth, textureHeight,
+                        multicolor ? colorTextData.getColoredLetter(letter).getColor().getValue() : 0);
+                width = Math.max(width, drawX + charWidth);
+            }
+
+            drawX += charWidth + (c != '\n' ? spacing : 0);
+        }
+
+        lastLineWidth = width;
+        if (textWidthValid) textWidth = Math.max(textWidth, width);
+        endDrawY = drawY;
+    }
+
+    /**
+     * Computes, for every index from {@code from} on, the width of the word that follows it, where a word is a run
+     * of {@link #isWordCharacter(char) word characters}: the run starting at the index, or the first run after it
+     * if the character at the index is not a word character. Words that do not start with a letter, a digit or an
+     * underscore count as zero width. Runs are measured once, left to right, so the whole pass is linear in the
+     * text length. Element {@code i} of the result belongs to index {@code from + i}.
+     */
+    static float[] computeNextWordWidths(CharSequence text, int from, BitmapFont bitmapFont, float spacing) {
+        int length = text.length() - from;
+        float[] result = new float[length];
+
+        // Width of each run, stored at its first index
+        float[] runWidths = new float[length];
+        int runStart = -1;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(from + i);
+            if (isWordCharacter(c)) {
+                if (runStart < 0) runStart = i;
+                BitmapCharInfo charInfo = bitmapFont.getCharInfo(c);
+                if (charInfo != null) runWidths[runStart] += charInfo.width() + spacing;
+            } else {
+                runStart = -1;
+            }
+        }
+
+        for (int i = length - 2; i >= 0; i--) {
+            char c = text.charAt(from + i);
+            if (isWordCharacter(c)) {
+                // A word starting at a word character that is not a letter, digit or underscore has zero width;
+                // word characters that are letters or digits are never asked for
+                continue;
+            }
+            char next = text.charAt(from + i + 1);
+            if (isWordCharacter(next)) {
+                result[i] = Character.isLetterOrDigit(next) || next == '_' ? runWidths[i + 1] : 0f;
+            } else {
+                result[i] = result[i + 1];
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isWordCharacter(char ch) {
+        return Character.isLetterOrDigit(ch) ||
+                ch == '!' || ch == '_' || ch == '.' ||
+                ch == ':' || ch == ';' || ch == ',';
+    }
+
+    private static boolean isSpecialCharacter(char ch) {
+        return !Character.isLetterOrDigit(ch) && ch != '_';
+    }
+}
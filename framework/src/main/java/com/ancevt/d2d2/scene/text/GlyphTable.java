@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.text;
+
+/**
+ * Glyphs of a bitmap font by code point. Latin-1 glyphs sit in a dense array indexed by code point; the rest, code
+ * points beyond the BMP included, in an open addressing hash table of primitive keys sized to the glyphs the font
+ * actually has. Both lookups take constant time.
+ */
+final class GlyphTable {
+
+    private static final int DENSE_SIZE = 256;
+    private static final int MIN_CAPACITY = 8;
+
+    // Estimated sizes, assuming compressed references
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int CHAR_INFO_BYTES = 32;
+
+    private final BitmapCharInfo[] dense = new BitmapCharInfo[DENSE_SIZE];
+    private int denseCount;
+
+    private int[] keys = new int[MIN_CAPACITY];
+    private BitmapCharInfo[] values = new BitmapCharInfo[MIN_CAPACITY];
+    private int shift = Integer.SIZE - Integer.numberOfTrailingZeros(MIN_CAPACITY);
+    private int sparseCount;
+
+    BitmapCharInfo get(int codePoint) {
+        if (codePoint >= 0 && codePoint < DENSE_SIZE) {
+            return dense[codePoint];
+        }
+        if (sparseCount == 0) return null;
+
+        int mask = keys.length - 1;
+        for (int i = slot(codePoint); ; i = (i + 1) & mask) {
+            BitmapCharInfo value = values[i];
+            if (value == null || keys[i] == codePoint) return value;
+        }
+    }
+
+    void put(BitmapCharInfo charInfo) {
+        int codePoint = charInfo.codePoint();
+        if (codePoint >= 0 && codePoint < DENSE_SIZE) {
+            if (dense[codePoint] == null) denseCount++;
+            dense[codePoint] = charInfo;
+            return;
+        }
+
+        // Keep the table at most half full so that probe sequences stay short
+        if ((sparseCount + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        if (insert(codePoint, charInfo)) sparseCount++;
+    }
+
+    int size() {
+        return denseCount + sparseCount;
+    }
+
+    int getDenseCount() {
+        return denseCount;
+    }
+
+    int getSparseCount() {
+        return sparseCount;
+    }
+
+    /**
+     * @return estimated heap size of the table and its glyphs
+     */
+    long estimateBytes() {
+        return ARRAY_HEADER_BYTES + (long) DENSE_SIZE * REFERENCE_BYTES
+                + ARRAY_HEADER_BYTES + (long) keys.length * Integer.BYTES
+                + ARRAY_HEADER_BYTES + (long) values.length * REFERENCE_BYTES
+                + (long) size() * CHAR_INFO_BYTES;
+    }
+
+    private int slot(int codePoint) {
+        // Fibonacci hashing spreads runs of consecutive code points over the table
+        return (codePoint * 0x9E3779B9) >>> shift;
+    }
+
+    private boolean insert(int codePoint, BitmapCharInfo charInfo) {
+        int mask = keys.length - 1;
+        for (int i = slot(codePoint); ; i = (i + 1) & mask) {
+            if (values[i] == null) {
+                keys[i] = codePoint;
+                values[i] = charInfo;
+                return true;
+            }
+            if (keys[i] == codePoint) {
+                values[i] = charInfo;
+                return false;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        BitmapCharInfo[] oldValues = values;
+        keys = new int[capacity];
+        values = new BitmapCharInfo[capacity];
+        shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) insert(oldKeys[i], oldValues[i]);
+        }
+    }
+}
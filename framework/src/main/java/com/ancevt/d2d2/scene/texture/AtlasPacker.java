@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.texture;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MaxRects rectangle packer (best short side fit) for a single atlas page. It only does the bookkeeping and knows
+ * nothing about textures, so it can be used and measured without a graphics context.
+ */
+public class AtlasPacker {
+
+    @Getter
+    private final int width;
+    @Getter
+    private final int height;
+
+    private final List<Rect> freeRects = new ArrayList<>();
+    private final List<Rect> newFreeRects = new ArrayList<>();
+
+    @Getter
+    private long usedArea;
+
+    public AtlasPacker(int width, int height) {
+        this.width = width;
+        this.height = height;
+        freeRects.add(new Rect(0, 0, width, height));
+    }
+
+    /**
+     * @return position of the placed rectangle, or null if it does not fit
+     */
+    public Rect insert(int rectWidth, int rectHeight) {
+        if (rectWidth <= 0 || rectHeight <= 0) {
+            throw new IllegalArgumentException("Invalid size: " + rectWidth + "x" + rectHeight);
+        }
+
+        Rect best = null;
+        int bestShortSide = Integer.MAX_VALUE;
+        int bestLongSide = Integer.MAX_VALUE;
+
+        for (Rect free : freeRects) {
+            if (free.width < rectWidth || free.height < rectHeight) continue;
+
+            int leftoverX = free.width - rectWidth;
+            int leftoverY = free.height - rectHeight;
+            int shortSide = Math.min(leftoverX, leftoverY);
+            int longSide = Math.max(leftoverX, leftoverY);
+
+            if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+                best = free;
+                bestShortSide = shortSide;
+                bestLongSide = longSide;
+            }
+        }
+
+        if (best == null) return null;
+
+        Rect placed = new Rect(best.x, best.y, rectWidth, rectHeight);
+        splitFreeRects(placed);
+        usedArea += (long) rectWidth * rectHeight;
+        return placed;
+    }
+
+    /**
+     * Returns the area of a rectangle placed earlier to the free space.
+     */
+    public void free(Rect rect) {
+        freeRects.add(new Rect(rect.x, rect.y, rect.width, rect.height));
+        mergeFreeRects();
+        pruneFreeRects();
+        usedArea -= (long) rect.width * rect.height;
+    }
+
+    /**
+     * @return fraction of the page area taken by placed rectangles
+     */
+    public float getOccupancy() {
+        return (float) usedArea / ((long) width * height);
+    }
+
+    private void splitFreeRects(Rect used) {
+        newFreeRects.clear();
+        for (int i = freeRects.size() - 1; i >= 0; i--) {
+            Rect free = freeRects.get(i);
+            if (!free.intersects(used)) continue;
+
+            freeRects.remove(i);
+            if (used.x > free.x) {
+                newFreeRects.add(new Rect(free.x, free.y, used.x - free.x, free.height));
+            }
+            if (used.right() < free.right()) {
+                newFreeRects.add(new Rect(used.right(), free.y, free.right() - used.right(), free.height));
+            }
+            if (used.y > free.y) {
+                newFreeRects.add(new Rect(free.x, free.y, free.width, used.y - free.y));
+            }
+            if (used.bottom() < free.bottom()) {
+                newFreeRects.add(new Rect(free.x, used.bottom(), free.width, free.bottom() - used.bottom()));
+            }
+        }
+
+        // The remaining free rectangles did not contain one another before and the new ones are parts of removed
+        // free rectangles, so only the new ones can be redundant
+        for (int i = 0; i < newFreeRects.size(); i++) {
+            Rect rect = newFreeRects.get(i);
+            if (!isContained(rect, freeRects, -1) && !isContained(rect, newFreeRects, i)) {
+                freeRects.add(rect);
+            }
+        }
+    }
+
+    /**
+     * @return true if a rectangle of the list other than the one at {@code self} contains the rectangle; of equal
+     * rectangles, only the last one is not contained
+     */
+    private static boolean isContained(Rect rect, List<Rect> rects, int self) {
+        for (int j = 0; j < rects.size(); j++) {
+            if (j == self) continue;
+            Rect other = rects.get(j);
+            if (other.contains(rect) && (j > self || !rect.contains(other))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Joins free rectangles sharing a whole edge, which a freed rectangle usually does with its neighbours.
+     */
+    private void mergeFreeRects() {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < freeRects.size() && !merged; i++) {
+                for (int j = i + 1; j < freeRects.size() && !merged; j++) {
+                    Rect a = freeRects.get(i);
+                    Rect b = freeRects.get(j);
+                    Rect union = null;
+                    if (a.x == b.x && a.width == b.width && (a.bottom() == b.y || b.bottom() == a.y)) {
+                        union = new Rect(a.x, Math.min(a.y, b.y), a.width, a.height + b.height);
+                    } else if (a.y == b.y && a.height == b.height && (a.right() == b.x || b.right() == a.x)) {
+                        union = new Rect(Math.min(a.x, b.x), a.y, a.width + b.width, a.height);
+                    }
+                    if (union != null) {
+                        freeRects.remove(j);
+                        freeRects.set(i, union);
+                        merged = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private void pruneFreeRects() {
+        for (int i = 0; i < freeRects.size(); i++) {
+            for (int j = i + 1; j < freeRects.size(); j++) {
+                if (freeRects.get(j).contains(freeRects.get(i))) {
+                    freeRects.remove(i--);
+                    break;
+                }
+                if (freeRects.get(i).contains(freeRects.get(j))) {
+                    freeRects.remove(j--);
+                }
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Rect {
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+
+        int right() {
+            return x + width;
+        }
+
+        int bottom() {
+            return y + height;
+        }
+
+        boolean intersects(Rect other) {
+            return x < other.right() && other.x < right() && y < other.bottom() && other.y < bottom();
+        }
+
+        boolean contains(Rect other) {
+            return other.x >= x && other.y >= y && other.right() <= right() && other.bottom() <= bottom();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.texture;
+
+/**
+ * Region of a {@link TextureAtlas} page. Its page and position can change when the atlas is defragmented, so
+ * sprites showing it follow automatically.
+ */
+public class AtlasRegion extends TextureRegion {
+
+    AtlasPacker.Rect slot;
+    final String key;
+
+    AtlasRegion(Texture page, AtlasPacker.Rect slot, int width, int height, int padding, String key) {
+        super(page, slot.getX() + padding, slot.getY() + padding, width, height);
+        this.slot = slot;
+        this.key = key;
+    }
+
+    void moveTo(Texture page, AtlasPacker.Rect slot, int padding) {
+        this.slot = slot;
+        moveTo(page, slot.getX() + padding, slot.getY() + padding);
+    }
+
+    /**
+     * @return true once the region has been freed from its atlas
+     */
+    public boolean isFreed() {
+        return slot == null;
+    }
+}
@@ -21,6 +21,9 @@ package com.ancevt.d2d2.scene.texture;
 import com.ancevt.d2d2.scene.text.BitmapText;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 // TODO: refactor and delete this interface
 public interface ITextureEngine {
@@ -35,10 +38,108 @@ public interface ITextureEngine {
 
     Texture createTexture(String assetPath);
 
+    /**
+     * Loads the texture without blocking the caller where the engine supports it. The future completes on the
+     * render thread.
+     */
+    default CompletableFuture<Texture> createTextureAsync(String assetPath) {
+        try {
+            return CompletableFuture.completedFuture(createTexture(assetPath));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Same as {@link #createTextureAsync(String)}, decoding on the given executor where the engine supports it.
+     */
+    default CompletableFuture<Texture> createTextureAsync(String assetPath, Executor executor) {
+        return createTextureAsync(assetPath);
+    }
+
     Texture createTexture(int width, int height, TextureRegionCombinerCell[] cells);
 
     void unloadTexture(Texture texture);
 
+    /**
+     * Keeps a CPU copy of the texture pixels regardless of the pixel cache budget. Without it the copy is created
+     * on demand and may be dropped again.
+     */
+    default void setRetainPixels(Texture texture, boolean retainPixels) {
+    }
+
+    /**
+     * Limits the bytes held by CPU copies of texture pixels that are not retained explicitly.
+     */
+    default void setPixelCacheBudget(long bytes) {
+    }
+
+    /**
+     * @return approximate bytes currently held by CPU copies of texture pixels
+     */
+    default long getPixelCacheBytes() {
+        return 0;
+    }
+
+    /**
+     * Lets the engine delete textures unused for at least {@code minIdleFrames} frames while uploaded textures
+     * take more than {@code bytes}. Evicted textures are uploaded again from their source when drawn next time.
+     */
+    default void setTextureMemoryBudget(long bytes, int minIdleFrames) {
+    }
+
+    default TextureMemoryStats getTextureMemoryStats() {
+        return null;
+    }
+
+    /**
+     * Limits how many bytes of pixel data are uploaded per frame; larger textures are uploaded over several
+     * frames and cannot be drawn until complete.
+     */
+    default void setUploadBudget(long bytesPerFrame) {
+    }
+
+    default TextureUploadStats getTextureUploadStats() {
+        return null;
+    }
+
+    /**
+     * Creates a texture from tightly packed RGBA bytes, row by row from the top, without decoding an image. The
+     * pixels are copied, so the buffer may be reused afterwards. The buffer must hold exactly
+     * {@code width * height * 4} remaining bytes.
+     */
+    default Texture createTexture(int width, int height, ByteBuffer rgbaPixels) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a texture with transparent pixels, e.g. a {@link TextureAtlas} page.
+     */
+    default Texture createEmptyTexture(int width, int height) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Decodes the image of an asset without creating a texture for it.
+     */
+    default DecodedImage decodeImage(String assetPath) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the image into the texture with its top left corner at x, y.
+     */
+    default void drawImage(Texture target, int x, int y, DecodedImage image) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Copies the pixels of the region into the texture with the top left corner at x, y.
+     */
+    default void copyTextureRegion(TextureRegion source, Texture target, int x, int y) {
+        throw new UnsupportedOperationException();
+    }
+
     Texture bitmapTextToTexture(BitmapText bitmapText);
 
 }
@@ -32,6 +32,11 @@ public class Texture implements Disposable {
     private final int id;
     private final int width;
     private final int height;
+    private boolean premultipliedAlpha;
+
+    // Maintained by TextureRegistry
+    int registryIndex = -1;
+    String registryKey;
 
     public Texture(int id, int width, int height) {
         this.id = id;
@@ -191,13 +196,25 @@ public class Texture implements Disposable {
         return height;
     }
 
+    /**
+     * @return true if the color channels are stored multiplied by alpha, as in textures rendered on the GPU; the
+     * renderer draws such textures with premultiplied blending
+     */
+    public boolean isPremultipliedAlpha() {
+        return premultipliedAlpha;
+    }
+
+    public void setPremultipliedAlpha(boolean premultipliedAlpha) {
+        this.premultipliedAlpha = premultipliedAlpha;
+    }
+
     @Override
     public void dispose() {
         D2D2.textureManager().unloadTexture(this);
     }
 
     public boolean isDisposed() {
-        return !D2D2.textureManager().containsTexture(this);
+        return registryIndex < 0;
     }
 
     public Sprite createSprite() {
@@ -0,0 +1,225 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.texture;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs images loaded at runtime into shared texture pages, so sprites showing them can be drawn in one batch.
+ * Pages are created on demand; images larger than a page are not accepted. Regions can be freed, and
+ * {@link #defragment()} repacks the remaining ones into as few pages as possible.
+ * <p>
+ * Needs a texture engine supporting {@link ITextureEngine#decodeImage(String)},
+ * {@link ITextureEngine#createEmptyTexture(int, int)} and related methods, and must be used on the render thread.
+ */
+public class TextureAtlas {
+
+    public static final int DEFAULT_PAGE_SIZE = 2048;
+
+    /**
+     * Transparent pixels kept around every region against sampling its neighbours
+     */
+    public static final int DEFAULT_PADDING = 1;
+
+    private final ITextureEngine textureEngine;
+
+    @Getter
+    private final int pageSize;
+    @Getter
+    private final int padding;
+
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<String, AtlasRegion> regionsByKey = new HashMap<>();
+
+    public TextureAtlas(ITextureEngine textureEngine) {
+        this(textureEngine, DEFAULT_PAGE_SIZE, DEFAULT_PADDING);
+    }
+
+    public TextureAtlas(ITextureEngine textureEngine, int pageSize, int padding) {
+        this.textureEngine = textureEngine;
+        this.pageSize = pageSize;
+        this.padding = padding;
+    }
+
+    /**
+     * Adds the image of the asset, or returns the region it already has.
+     *
+     * @return region of the image, or null if it is larger than a page
+     */
+    public AtlasRegion add(String assetPath) {
+        AtlasRegion existing = regionsByKey.get(assetPath);
+        if (existing != null) return existing;
+
+        DecodedImage image = textureEngine.decodeImage(assetPath);
+        try {
+            AtlasRegion region = allocate(image.getWidth(), image.getHeight(), assetPath);
+            if (region == null) return null;
+
+            textureEngine.drawImage(region.getTexture(), region.getX(), region.getY(), image);
+            regionsByKey.put(assetPath, region);
+            return region;
+        } finally {
+            image.dispose();
+        }
+    }
+
+    /**
+     * Copies a region of another texture into the atlas.
+     *
+     * @return region in the atlas, or null if it is larger than a page
+     */
+    public AtlasRegion add(TextureRegion source) {
+        AtlasRegion region = allocate(source.getWidth(), source.getHeight(), null);
+        if (region == null) return null;
+
+        textureEngine.copyTextureRegion(source, region.getTexture(), region.getX(), region.getY());
+        return region;
+    }
+
+    /**
+     * Gives the space of the region back to its page. Pages left empty are disposed.
+     */
+    public void free(AtlasRegion region) {
+        if (region.isFreed()) return;
+
+        Page page = pageOf(region);
+        page.packer.free(region.slot);
+        page.regions.remove(region);
+        region.slot = null;
+        if (region.key != null) regionsByKey.remove(region.key);
+
+        if (page.regions.isEmpty()) {
+            pages.remove(page);
+            page.texture.dispose();
+        }
+    }
+
+    /**
+     * Repacks all live regions, largest first, into fresh pages and disposes the old ones. Existing
+     * {@link AtlasRegion} instances are updated in place.
+     */
+    public void defragment() {
+        List<AtlasRegion> regions = new ArrayList<>();
+        for (Page page : pages) regions.addAll(page.regions);
+        regions.sort(Comparator.comparingLong((AtlasRegion r) -> (long) r.getWidth() * r.getHeight()).reversed());
+
+        List<Page> oldPages = new ArrayList<>(pages);
+        pages.clear();
+
+        for (AtlasRegion region : regions) {
+            Texture oldPage = region.getTexture();
+            int oldX = region.getX();
+            int oldY = region.getY();
+
+            Placement placement = place(region.getWidth(), region.getHeight());
+            textureEngine.copyTextureRegion(
+                    new TextureRegion(oldPage, oldX, oldY, region.getWidth(), region.getHeight()),
+                    placement.page.texture,
+                    placement.slot.getX() + padding,
+                    placement.slot.getY() + padding
+            );
+            region.moveTo(placement.page.texture, placement.slot, padding);
+            placement.page.regions.add(region);
+        }
+
+        for (Page page : oldPages) {
+            page.texture.dispose();
+        }
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * @return fraction of the page area taken by regions, padding included, over all pages
+     */
+    public float getOccupancy() {
+        if (pages.isEmpty()) return 0f;
+        long used = 0;
+        for (Page page : pages) used += page.packer.getUsedArea();
+        return (float) used / ((long) pageSize * pageSize * pages.size());
+    }
+
+    public void dispose() {
+        for (Page page : pages) {
+            for (AtlasRegion region : page.regions) region.slot = null;
+            page.texture.dispose();
+        }
+        pages.clear();
+        regionsByKey.clear();
+    }
+
+    private AtlasRegion allocate(int width, int height, String key) {
+        if (width + padding * 2 > pageSize || height + padding * 2 > pageSize) return null;
+
+        Placement placement = place(width, height);
+        AtlasRegion region = new AtlasRegion(placement.page.texture, placement.slot, width, height, padding, key);
+        placement.page.regions.add(region);
+        return region;
+    }
+
+    private Placement place(int width, int height) {
+        int slotWidth = width + padding * 2;
+        int slotHeight = height + padding * 2;
+
+        for (Page page : pages) {
+            AtlasPacker.Rect slot = page.packer.insert(slotWidth, slotHeight);
+            if (slot != null) return new Placement(page, slot);
+        }
+
+        Page page = new Page(textureEngine.createEmptyTexture(pageSize, pageSize), new AtlasPacker(pageSize, pageSize));
+        pages.add(page);
+        return new Placement(page, page.packer.insert(slotWidth, slotHeight));
+    }
+
+    private Page pageOf(AtlasRegion region) {
+        for (Page page : pages) {
+            if (page.texture == region.getTexture()) return page;
+        }
+        throw new TextureException("Region does not belong to this atlas: " + region);
+    }
+
+    private static final class Placement {
+        private final Page page;
+        private final AtlasPacker.Rect slot;
+
+        private Placement(Page page, AtlasPacker.Rect slot) {
+            this.page = page;
+            this.slot = slot;
+        }
+    }
+
+    private static final class Page {
+        private final Texture texture;
+        private final AtlasPacker packer;
+        private final List<AtlasRegion> regions = new ArrayList<>();
+
+        private Page(Texture texture, AtlasPacker packer) {
+            this.texture = texture;
+            this.packer = packer;
+        }
+    }
+}
@@ -18,109 +18,318 @@
 
 package com.ancevt.d2d2.scene.texture;
 
+import com.ancevt.d2d2.asset.Asset;
+import com.ancevt.d2d2.asset.Assets;
+import com.ancevt.d2d2.event.TextureLoaderEvent;
+import com.ancevt.d2d2.event.core.EventDispatcherImpl;
 import com.ancevt.d2d2.scene.text.BitmapText;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-public class TextureManager {
+public class TextureManager extends EventDispatcherImpl {
 
-    private final List<Texture> textures;
-
-    private final Map<String, Texture> textureCache;
+    @Getter
+    private final TextureRegistry registry;
 
     private final Map<String, TextureRegion> textureRegions;
 
+    private final List<TextureRegionIndex> textureRegionIndexes;
+
+    private final Map<String, CompletableFuture<Texture>> pendingLoads;
+
+    private TextureAtlas atlas;
+
     @Getter
     @Setter
     private ITextureEngine textureEngine;
 
     public TextureManager() {
         textureRegions = new HashMap<>();
-        textures = new ArrayList<>();
-        textureCache = new HashMap<>();
+        textureRegionIndexes = new ArrayList<>();
+        registry = new TextureRegistry();
+        pendingLoads = new HashMap<>();
     }
 
     public Texture loadTexture(InputStream pngInputStream) {
         final Texture result = textureEngine.createTexture(pngInputStream);
-        textures.add(result);
+        registry.register(result);
+        return result;
+    }
+
+    /**
+     * Creates a texture from raw RGBA pixels; see {@link ITextureEngine#createTexture(int, int, ByteBuffer)}
+     */
+    public Texture loadTexture(int width, int height, ByteBuffer rgbaPixels) {
+        final Texture result = textureEngine.createTexture(width, height, rgbaPixels);
+        registry.register(result);
         return result;
     }
 
+    /**
+     * Loads the texture right away. A background load of the same path still in progress completes with the
+     * texture loaded here and its own result is dropped.
+     */
     public Texture loadTexture(String assetPath) {
-        if (textureCache.containsKey(assetPath)) {
-            return textureCache.get(assetPath);
+        Texture cached = registry.getByKey(assetPath);
+        if (cached != null) {
+            return cached;
         }
 
         final Texture result = textureEngine.createTexture(assetPath);
-        textures.add(result);
-        textureCache.put(assetPath, result);
+        registry.register(result, assetPath);
+
+        CompletableFuture<Texture> pending = pendingLoads.get(assetPath);
+        if (pending != null) {
+            pending.complete(result);
+        }
         return result;
     }
 
-    public void unloadTexture(Texture texture) {
-        textureEngine.unloadTexture(texture);
-        textures.remove(texture);
+    /**
+     * Loads the texture in the background. Images are decoded off the render thread and the returned future
+     * completes on the render thread once the texture is created; cancelling it drops the pending work. Loading a
+     * path that is already loaded or being loaded returns the same texture or future.
+     */
+    public CompletableFuture<Texture> loadTextureAsync(String assetPath) {
+        return loadTextureAsync(assetPath, null);
+    }
 
-        for (Map.Entry<String, Texture> e : textureCache.entrySet()) {
-            if (e.getValue() == texture) {
-                textureCache.remove(e.getKey());
-                break;
-            }
+    /**
+     * Same as {@link #loadTextureAsync(String)}, decoding on the given executor, or on the engine's own pool if it
+     * is null.
+     */
+    public CompletableFuture<Texture> loadTextureAsync(String assetPath, Executor executor) {
+        Texture cached = registry.getByKey(assetPath);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Texture> pending = pendingLoads.get(assetPath);
+        if (pending != null) {
+            return pending;
         }
+
+        CompletableFuture<Texture> future = executor == null
+                ? textureEngine.createTextureAsync(assetPath)
+                : textureEngine.createTextureAsync(assetPath, executor);
+        if (!future.isDone()) {
+            pendingLoads.put(assetPath, future);
+        }
+        future.whenComplete((texture, throwable) -> {
+            pendingLoads.remove(assetPath);
+            // The path may have been loaded synchronously meanwhile
+            if (texture != null && registry.getByKey(assetPath) == null) registry.register(texture, assetPath);
+        });
+        return future;
+    }
+
+    /**
+     * In atlas mode {@link #loadTextureRegion(String)} packs images into shared {@link TextureAtlas} pages
+     * instead of creating a texture for every image. Disabling it disposes the atlas and its regions.
+     */
+    public void setAtlasMode(boolean atlasMode) {
+        if (atlasMode && atlas == null) {
+            atlas = new TextureAtlas(textureEngine);
+        } else if (!atlasMode && atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+    }
+
+    public boolean isAtlasMode() {
+        return atlas != null;
+    }
+
+    /**
+     * @return the atlas used in atlas mode, or null
+     */
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+
+    /**
+     * Loads the image of the asset as a region: a region of an atlas page in atlas mode, unless the image does not
+     * fit a page, or the whole area of a texture of its own otherwise.
+     */
+    public TextureRegion loadTextureRegion(String assetPath) {
+        if (atlas != null) {
+            TextureRegion region = atlas.add(assetPath);
+            if (region != null) return region;
+        }
+        return loadTexture(assetPath).createTextureRegion();
+    }
+
+    public void unloadTexture(Texture texture) {
+        textureEngine.unloadTexture(texture);
+        registry.unregister(texture);
     }
 
     public void clear() {
-        while (!textures.isEmpty()) {
-            unloadTexture(textures.get(0));
+        while (registry.size() > 0) {
+            unloadTexture(registry.get(registry.size() - 1));
         }
     }
 
     public Texture bitmapTextToTexture(BitmapText bitmapText) {
         Texture texture = textureEngine.bitmapTextToTexture(bitmapText);
-        textures.add(texture);
+        registry.register(texture);
         return texture;
     }
 
     public int getTextureCount() {
-        return textures.size();
+        return registry.size();
     }
 
     public Texture getTexture(int index) {
-        return textures.get(index);
+        return registry.get(index);
+    }
+
+    /**
+     * @return live texture with the given id, or null if there is none
+     */
+    public Texture getTextureById(int id) {
+        return registry.getById(id);
     }
 
     public void addTextureRegion(String key, TextureRegion textureRegion) {
         textureRegions.put(key, textureRegion);
     }
 
+    /**
+     * Returns the region for the key from whatever provided it last: a region added under the key or the most
+     * recently added index containing the key, from which the region is created on first lookup, loading its
+     * texture if needed.
+     */
     public TextureRegion getTextureRegion(String key) {
         TextureRegion result = textureRegions.get(key);
         if (result == null) {
-            throw new IllegalArgumentException("No such texture region key: " + key);
+            for (int i = textureRegionIndexes.size() - 1; i >= 0 && result == null; i--) {
+                result = textureRegionIndexes.get(i).getTextureRegion(key, this::loadTexture);
+            }
+            if (result == null) {
+                throw new IllegalArgumentException("No such texture region key: " + key);
+            }
+            textureRegions.put(key, result);
         }
         return result;
     }
 
+    /**
+     * Makes the regions of the index available by key; they are created on first lookup. Keys of the index take
+     * precedence over regions added or looked up before under the same keys.
+     */
+    public void addTextureRegionIndex(TextureRegionIndex index) {
+        textureRegionIndexes.add(index);
+        textureRegions.keySet().removeIf(index::contains);
+    }
+
+    /**
+     * Loads region definitions from an asset, either a binary {@link TextureRegionIndex} or the text
+     * {@code .inf} format it is converted from.
+     */
     public final void loadTextureDataInfo(String assetPath) {
+        try (Asset asset = Assets.getAsset(assetPath)) {
+            byte[] data = asset.readAllBytes();
+            if (TextureRegionIndex.isIndex(data)) {
+                addTextureRegionIndex(TextureRegionIndex.wrap(data));
+            } else {
+                Reader reader = new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8);
+                addTextureRegionIndex(TextureRegionIndex.fromInf(reader));
+            }
+        } catch (IOException e) {
+            throw new TextureException(e);
+        }
+    }
+
+    /**
+     * Memory-maps a binary {@link TextureRegionIndex} file and makes its regions available by key
+     */
+    public void loadTextureRegionIndex(Path path) {
         try {
-            TextureDataInfoReadHelper.readTextureDataInfoFile(assetPath);
+            addTextureRegionIndex(TextureRegionIndex.map(path));
         } catch (IOException e) {
             throw new TextureException(e);
         }
     }
 
+    /**
+     * Pins the CPU copy of the texture pixels, e.g. for textures that are often combined by
+     * {@link TextureRegionCombiner}.
+     */
+    public void setRetainPixels(Texture texture, boolean retainPixels) {
+        textureEngine.setRetainPixels(texture, retainPixels);
+    }
+
+    public void setPixelCacheBudget(long bytes) {
+        textureEngine.setPixelCacheBudget(bytes);
+    }
+
+    /**
+     * @return approximate bytes held by CPU copies of texture pixels
+     */
+    public long getPixelCacheBytes() {
+        return textureEngine.getPixelCacheBytes();
+    }
+
+    /**
+     * Sets the video memory budget; see {@link ITextureEngine#setTextureMemoryBudget(long, int)}. Only textures
+     * loaded from an asset or a stream can be evicted.
+     */
+    public void setTextureMemoryBudget(long bytes, int minIdleFrames) {
+        textureEngine.setTextureMemoryBudget(bytes, minIdleFrames);
+    }
+
+    /**
+     * @return texture memory counters, or null if the engine does not track them
+     */
+    public TextureMemoryStats getTextureMemoryStats() {
+        return textureEngine.getTextureMemoryStats();
+    }
+
+    /**
+     * Sets how many bytes of pixel data the engine uploads per frame; see
+     * {@link ITextureEngine#setUploadBudget(long)}
+     */
+    public void setUploadBudget(long bytesPerFrame) {
+        textureEngine.setUploadBudget(bytesPerFrame);
+    }
+
+    /**
+     * @return texture upload counters, or null if the engine does not track them
+     */
+    public TextureUploadStats getTextureUploadStats() {
+        return textureEngine.getTextureUploadStats();
+    }
+
+    /**
+     * Called by the texture engine when a texture has been fully uploaded
+     */
+    public void textureUploaded(Texture texture) {
+        if (hasEventListeners(TextureLoaderEvent.UploadComplete.class)) {
+            dispatchEvent(TextureLoaderEvent.UploadComplete.create(texture));
+        }
+    }
+
     public boolean containsTexture(Texture texture) {
-        return textures.contains(texture);
+        return registry.contains(texture);
     }
 
     public void addTexture(Texture texture) {
-        textures.add(texture);
+        registry.register(texture);
     }
 }
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.texture;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of texture memory counters reported by the texture engine.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TextureMemoryStats {
+
+    /**
+     * Estimated video memory used by uploaded textures, mipmaps included
+     */
+    private final long residentBytes;
+
+    private final long budgetBytes;
+
+    private final int residentTextures;
+
+    /**
+     * Lookups of textures that were resident
+     */
+    private final long hits;
+
+    /**
+     * Lookups of evicted textures that had to be uploaded again
+     */
+    private final long misses;
+
+    private final long evictions;
+}
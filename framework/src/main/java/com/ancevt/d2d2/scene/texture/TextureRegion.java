@@ -19,19 +19,26 @@
 package com.ancevt.d2d2.scene.texture;
 
 import com.ancevt.d2d2.scene.Sprite;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 @Getter
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class TextureRegion {
 
-    private final Texture texture;
-    private final int x;
-    private final int y;
+    // Only an AtlasRegion moves, when its atlas is defragmented
+    private Texture texture;
+    private int x;
+    private int y;
     private final int width;
     private final int height;
 
+    void moveTo(Texture texture, int x, int y) {
+        this.texture = texture;
+        this.x = x;
+        this.y = y;
+    }
+
     public TextureRegion createSubregion(int x, int y, int width, int height) {
         return getTexture().createTextureRegion(getX() + x, getY() + y, width, height);
     }
@@ -41,15 +48,15 @@ public class TextureRegion {
     }
 
     public String stringify() {
-        return "%d,%d,%d,%d".formatted(x, y, width, height);
+        return "%d,%d,%d,%d".formatted(getX(), getY(), getWidth(), getHeight());
     }
 
     @Override
     public String toString() {
         return getClass().getSimpleName() + "{" +
-                "texture=" + texture +
-                ", x=" + x +
-                ", y=" + y +
+                "texture=" + getTexture() +
+                ", x=" + getX() +
+                ", y=" + getY() +
                 ", width=" + width +
                 ", height=" + height +
                 '}';
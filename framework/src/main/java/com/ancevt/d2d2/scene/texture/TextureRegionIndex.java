@@ -0,0 +1,300 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.texture;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Read-only binary index of named texture regions. Regions are looked up by key with a binary search over the
+ * encoded data, so nothing is materialized up front and an index file can be memory-mapped as is.
+ * <p>
+ * Layout, big endian: magic {@code D2RI}, version, texture count, for each texture the offset and length of its
+ * asset path, region count, for each region (sorted by the UTF-8 bytes of the key) the offset and length of the
+ * key, texture index, x, y, width and height, followed by the UTF-8 string data.
+ * <p>
+ * Indexes are converted from the text {@code .inf} format with {@link #convert(Reader, OutputStream)}:
+ * <pre>
+ * :tileset.png
+ *     brick  112 16 16 16
+ *     frame  160 0  48 16 h6
+ * </pre>
+ * A line starting with a colon selects the texture of the following regions. A trailing {@code hN} or {@code vN},
+ * as in {@link Texture#createTextureRegions(String)}, expands into N regions laid out horizontally or vertically,
+ * keyed {@code frame0} to {@code frame5}.
+ */
+public class TextureRegionIndex {
+
+    private static final int MAGIC = 0x44325249;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int TEXTURE_ENTRY_SIZE = 8;
+    private static final int REGION_ENTRY_SIZE = 28;
+
+    private final ByteBuffer buffer;
+    private final String[] texturePaths;
+    private final int regionCount;
+    private final int regionsOffset;
+
+    private TextureRegionIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new TextureException("Not a texture region index");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new TextureException("Unsupported texture region index version: " + buffer.getInt(4));
+        }
+
+        texturePaths = new String[buffer.getInt(8)];
+        for (int i = 0; i < texturePaths.length; i++) {
+            int entry = HEADER_SIZE + i * TEXTURE_ENTRY_SIZE;
+            texturePaths[i] = readString(buffer.getInt(entry), buffer.getInt(entry + 4));
+        }
+
+        int regionCountOffset = HEADER_SIZE + texturePaths.length * TEXTURE_ENTRY_SIZE;
+        regionCount = buffer.getInt(regionCountOffset);
+        regionsOffset = regionCountOffset + 4;
+    }
+
+    /**
+     * Wraps index data, e.g. read from an asset
+     */
+    public static TextureRegionIndex wrap(byte[] data) {
+        return new TextureRegionIndex(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Memory-maps an index file
+     */
+    public static TextureRegionIndex map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TextureRegionIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return whether the data starts like a texture region index
+     */
+    public static boolean isIndex(byte[] data) {
+        return data.length >= HEADER_SIZE && ByteBuffer.wrap(data).getInt(0) == MAGIC;
+    }
+
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    public boolean contains(String key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Creates the region stored under the key, obtaining its texture by asset path from the loader.
+     *
+     * @return the region, or null if the index has no such key
+     */
+    public TextureRegion getTextureRegion(String key, Function<String, Texture> textureLoader) {
+        int index = find(key);
+        if (index < 0) return null;
+
+        int entry = regionsOffset + index * REGION_ENTRY_SIZE;
+        Texture texture = textureLoader.apply(texturePaths[buffer.getInt(entry + 8)]);
+        return texture.createTextureRegion(
+                buffer.getInt(entry + 12),
+                buffer.getInt(entry + 16),
+                buffer.getInt(entry + 20),
+                buffer.getInt(entry + 24)
+        );
+    }
+
+    private int find(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = regionCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = regionsOffset + middle * REGION_ENTRY_SIZE;
+            int comparison = compareKey(buffer.getInt(entry), buffer.getInt(entry + 4), keyBytes);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int compareKey(int offset, int length, byte[] key) {
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int comparison = Integer.compare(buffer.get(offset + i) & 0xFF, key[i] & 0xFF);
+            if (comparison != 0) return comparison;
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the text {@code .inf} format into an index held in memory
+     */
+    public static TextureRegionIndex fromInf(Reader inf) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        convert(inf, outputStream);
+        return wrap(outputStream.toByteArray());
+    }
+
+    /**
+     * Converts the text {@code .inf} format into a binary index. Keys defined more than once keep their last
+     * definition.
+     */
+    public static void convert(Reader inf, OutputStream out) throws IOException {
+        List<String> texturePaths = new ArrayList<>();
+        Map<String, int[]> regions = new LinkedHashMap<>();
+
+        BufferedReader reader = new BufferedReader(inf);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty()) continue;
+
+            if (line.charAt(0) == ':') {
+                texturePaths.add(line.substring(1).strip());
+                continue;
+            }
+            if (texturePaths.isEmpty()) {
+                throw new TextureException("Region before any texture at line " + lineNumber + ": " + line);
+            }
+            parseRegions(line, lineNumber, texturePaths.size() - 1, regions);
+        }
+
+        write(texturePaths, regions, out);
+    }
+
+    private static void parseRegions(String line, int lineNumber, int texture, Map<String, int[]> regions) {
+        String[] tokens = line.split("[\\s,]+");
+        if (tokens.length != 5 && tokens.length != 6) {
+            throw new TextureException("Malformed region at line " + lineNumber + ": " + line);
+        }
+
+        try {
+            String key = tokens[0];
+            int x = Integer.parseInt(tokens[1]);
+            int y = Integer.parseInt(tokens[2]);
+            int width = Integer.parseInt(tokens[3]);
+            int height = Integer.parseInt(tokens[4]);
+
+            if (tokens.length == 5) {
+                regions.put(key, new int[]{texture, x, y, width, height});
+                return;
+            }
+
+            char direction = tokens[5].charAt(0);
+            int count = Integer.parseInt(tokens[5].substring(1));
+            if (direction != 'h' && direction != 'v') {
+                throw new TextureException("Expected hN or vN at line " + lineNumber + ": " + line);
+            }
+            for (int i = 0; i < count; i++) {
+                int regionX = direction == 'h' ? x + i * width : x;
+                int regionY = direction == 'v' ? y + i * height : y;
+                regions.put(key + i, new int[]{texture, regionX, regionY, width, height});
+            }
+        } catch (NumberFormatException e) {
+            throw new TextureException("Malformed region at line " + lineNumber + ": " + line, e);
+        }
+    }
+
+    private static void write(List<String> texturePaths, Map<String, int[]> regions, OutputStream out)
+            throws IOException {
+        byte[][] paths = new byte[texturePaths.size()][];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = texturePaths.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        List<Map.Entry<byte[], int[]>> entries = new ArrayList<>(regions.size());
+        regions.forEach((key, region) -> entries.add(Map.entry(key.getBytes(StandardCharsets.UTF_8), region)));
+        entries.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+
+        int stringOffset = HEADER_SIZE + paths.length * TEXTURE_ENTRY_SIZE + 4 + entries.size() * REGION_ENTRY_SIZE;
+
+        DataOutputStream dataOutputStream = new DataOutputStream(out);
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeInt(VERSION);
+        dataOutputStream.writeInt(paths.length);
+        for (byte[] path : paths) {
+            dataOutputStream.writeInt(stringOffset);
+            dataOutputStream.writeInt(path.length);
+            stringOffset += path.length;
+        }
+        dataOutputStream.writeInt(entries.size());
+        for (Map.Entry<byte[], int[]> entry : entries) {
+            dataOutputStream.writeInt(stringOffset);
+            dataOutputStream.writeInt(entry.getKey().length);
+            for (int value : entry.getValue()) {
+                dataOutputStream.writeInt(value);
+            }
+            stringOffset += entry.getKey().length;
+        }
+        for (byte[] path : paths) {
+            dataOutputStream.write(path);
+        }
+        for (Map.Entry<byte[], int[]> entry : entries) {
+            dataOutputStream.write(entry.getKey());
+        }
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Converts an {@code .inf} file into a binary index file: {@code TextureRegionIndex <input.inf> <output>}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TextureRegionIndex <input.inf> <output>");
+            System.exit(1);
+        }
+        try (Reader reader = Files.newBufferedReader(Path.of(args[0]));
+             OutputStream outputStream = Files.newOutputStream(Path.of(args[1]))) {
+            convert(reader, outputStream);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.scene.texture;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Live textures of a {@link TextureManager}. A texture keeps its own slot index and cache key, so registering,
+ * unregistering, {@link Texture#isDisposed()} and lookups by id or by cache key do not scan anything.
+ * Unregistering moves the last texture into the freed slot, so {@link #get(int)} order is not stable.
+ */
+public class TextureRegistry {
+
+    private Texture[] textures = new Texture[64];
+    private int size;
+
+    private final Map<Integer, Texture> byId = new HashMap<>();
+    private final Map<String, Texture> byKey = new HashMap<>();
+
+    public void register(Texture texture) {
+        if (texture.registryIndex >= 0) return;
+
+        if (size == textures.length) {
+            textures = Arrays.copyOf(textures, size * 2);
+        }
+        texture.registryIndex = size;
+        textures[size++] = texture;
+        byId.put(texture.getId(), texture);
+    }
+
+    /**
+     * Registers the texture and makes it reachable by the cache key, e.g. the asset path it was loaded from. A
+     * texture registered under the key before stays registered but is no longer reachable by it.
+     */
+    public void register(Texture texture, String key) {
+        register(texture);
+        if (texture.registryKey != null) {
+            byKey.remove(texture.registryKey, texture);
+        }
+        Texture displaced = byKey.put(key, texture);
+        if (displaced != null && displaced != texture) {
+            displaced.registryKey = null;
+        }
+        texture.registryKey = key;
+    }
+
+    public boolean unregister(Texture texture) {
+        int index = texture.registryIndex;
+        if (index < 0 || index >= size || textures[index] != texture) return false;
+
+        Texture last = textures[--size];
+        textures[index] = last;
+        last.registryIndex = index;
+        textures[size] = null;
+        texture.registryIndex = -1;
+
+        byId.remove(texture.getId());
+        if (texture.registryKey != null) {
+            byKey.remove(texture.registryKey, texture);
+            texture.registryKey = null;
+        }
+        return true;
+    }
+
+    public boolean contains(Texture texture) {
+        int index = texture.registryIndex;
+        return index >= 0 && index < size && textures[index] == texture;
+    }
+
+    public Texture getById(int id) {
+        return byId.get(id);
+    }
+
+    public Texture getByKey(String key) {
+        return byKey.get(key);
+    }
+
+    public Texture get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return textures[index];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2025 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.d2d2.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate compression of the build-time binary formats, such as asset packs and compiled bitmap fonts.
+ */
+public final class Deflate {
+
+    private Deflate() {
+    }
+
+    /**
+     * @return the remaining bytes of the input deflated at the best compression; the input position is unchanged
+     */
+    public static byte[] deflate(ByteBuffer input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input.duplicate());
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(input.remaining() / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                outputStream.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflates the remaining bytes of the input, which must inflate to exactly {@code size} bytes; the input
+     * position is unchanged.
+     *
+     * @throws DataFormatException if the data is corrupt or inflates to a different size
+     */
+    public static ByteBuffer inflate(ByteBuffer input, int size) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            ByteBuffer inflated = ByteBuffer.allocate(size);
+            inflater.setInput(input.duplicate());
+            while (inflated.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(inflated) == 0 && inflater.needsInput()) break;
+            }
+            if (inflated.hasRemaining()) {
+                throw new DataFormatException("Truncated data, " + inflated.position() + " of " + size + " bytes");
+            }
+            if (!inflater.finished() && inflater.inflate(new byte[1]) > 0) {
+                throw new DataFormatException("Data exceeds " + size + " bytes");
+            }
+            return inflated.flip();
+        } finally {
+            inflater.end();
+        }
+    }
+}